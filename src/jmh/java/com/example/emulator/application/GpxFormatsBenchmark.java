@@ -0,0 +1,50 @@
+package com.example.emulator.application;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 전송 시점의 좌표/시각 문자열 변환 비용.
+ * 같은 초의 포인트가 많아 formatTimestamp는 캐시 적중(sameSecond)이 보통이고, nextSecond는 매번 새로 만드는 경우다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GpxFormatsBenchmark {
+
+    private int latitudeE4 = 375_665;
+    private long epochSecond = 1_700_000_000L;
+    private double degrees = 37.566_512;
+
+    @Benchmark
+    public String formatCoordinate() {
+        return GpxFormats.formatCoordinate(latitudeE4++);
+    }
+
+    @Benchmark
+    public int toE4() {
+        degrees += 0.000_01;
+        return GpxFormats.toE4(degrees);
+    }
+
+    @Benchmark
+    public String formatTimestampSameSecond() {
+        return GpxFormats.formatTimestamp(1_700_000_000L);
+    }
+
+    @Benchmark
+    public String formatTimestampNextSecond() {
+        return GpxFormats.formatTimestamp(epochSecond++);
+    }
+
+    @Benchmark
+    public String formatSpeed() {
+        return GpxFormats.formatSpeed(latitudeE4++ & 0x7FF);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.emulator.application;
+
+import com.example.emulator.config.FleetProperties;
+import com.example.emulator.infrastructure.route.GpxStreamReader;
+import com.example.emulator.route.GpxRoute;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 차량 한 대의 tick 비용. 정상 상태(버퍼 재사용)에서 gc.alloc.rate.norm 이 0에 가까워야 한다.
+ * 전송은 같은 스레드에서 즉시 끝나는 것으로 대체해 버퍼가 바로 반납되도록 한다.
+ * motion=true는 주행 모델(거리 보간, 속도·방향)을 쓰는 tick이다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GpxTickBenchmark {
+
+    private static final FlushPolicy FLUSH_POLICY = new FlushPolicy(60, 60);
+    private static final MotionProfile MOTION_PROFILE = new MotionProfile(50 / 3.6, 1.5, 2.5, 800, 20, 42L, 1);
+
+    @Param({"false", "true"})
+    public boolean motion;
+
+    private GpxRoute route;
+    private GpxScheduler drive;
+    private long epochSecond = 1_700_000_000L;
+
+    @Setup
+    public void setUp() throws IOException {
+        GpxRoute.Builder builder = GpxRoute.builder();
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("gpx/taebaek-to-naju.gpx")) {
+            GpxStreamReader.read(in, builder::add);
+        }
+        route = builder.build(0, "taebaek-to-naju.gpx");
+
+        FleetTickEngine engine = new FleetTickEngine(new FleetProperties(), new SimpleMeterRegistry());
+        LocationSink sink = (carNumber, loginId, batch, release) -> release.run();
+        drive = new GpxScheduler(sink, engine);
+        rewind();
+    }
+
+    private void rewind() {
+        drive.prepare("12가3456", "benchmark", route, 0, FLUSH_POLICY);
+        drive.enableMotion(motion ? MOTION_PROFILE : null);
+    }
+
+    @Benchmark
+    public boolean tick() {
+        // 경로 끝(완료 로그, 잔여 전송)에 닿기 전에 처음으로 되돌린다
+        if (drive.getCurrentIndex() >= route.size() - 2) {
+            rewind();
+        }
+        return drive.tick(epochSecond++);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.emulator.application;
+
+import com.example.emulator.config.FleetProperties;
+import com.example.emulator.route.GpxRoute;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시동 ON/OFF가 여러 스레드에서 동시에 몰릴 때 LogService의 스케줄러 맵 교체 비용.
+ * ON은 기존 스케줄러 중지 → 새 스케줄러 등록, OFF는 제거 → 중지이며 실제 tick 엔진에 등록/해제 요청을 넣는다.
+ * 차량 {@value #CARS}대 중 임의의 차량을 고르므로 같은 차량의 ON/OFF가 경합한다.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SchedulerChurnBenchmark {
+
+    private static final int CARS = 10_000;
+    private static final FlushPolicy FLUSH_POLICY = new FlushPolicy(60, 60);
+
+    private final Map<String, GpxScheduler> schedulers = new ConcurrentHashMap<>();
+    private final LocationSink sink = (carNumber, loginId, batch, release) -> release.run();
+    private String[] carNumbers;
+    private GpxRoute route;
+    private FleetTickEngine engine;
+
+    @Setup
+    public void setUp() {
+        carNumbers = new String[CARS];
+        for (int i = 0; i < CARS; i++) {
+            carNumbers[i] = String.format("12가%04d", i);
+        }
+        GpxRoute.Builder builder = GpxRoute.builder();
+        for (int i = 0; i < 1000; i++) {
+            builder.add(37.5 + i * 0.0001, 127.0);
+        }
+        route = builder.build(0, "benchmark.gpx");
+        engine = new FleetTickEngine(new FleetProperties(), new SimpleMeterRegistry());
+        engine.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.stop();
+    }
+
+    @Benchmark
+    @Group("churn")
+    @GroupThreads(2)
+    public void powerOn() {
+        String carNumber = carNumbers[ThreadLocalRandom.current().nextInt(CARS)];
+        GpxScheduler running = schedulers.remove(carNumber);
+        if (running != null) {
+            running.stopScheduler();
+        }
+        GpxScheduler scheduler = new GpxScheduler(sink, engine);
+        schedulers.put(carNumber, scheduler);
+        scheduler.prepare(carNumber, "benchmark", route, 0, FLUSH_POLICY);
+        scheduler.startScheduler();
+    }
+
+    @Benchmark
+    @Group("churn")
+    @GroupThreads(2)
+    public void powerOff() {
+        GpxScheduler running = schedulers.remove(carNumbers[ThreadLocalRandom.current().nextInt(CARS)]);
+        if (running != null) {
+            running.stopScheduler();
+        }
+    }
+}
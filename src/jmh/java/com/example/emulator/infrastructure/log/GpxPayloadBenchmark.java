@@ -0,0 +1,62 @@
+package com.example.emulator.infrastructure.log;
+
+import com.example.emulator.application.GpxPointBuffer;
+import com.example.emulator.config.CollectorProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 차량 배치 한 건의 요청 본문 직렬화 비용 (압축 제외).
+ * JSON은 GpxRequestDto/GpxLogDto를 만들어 Jackson으로 쓰고, COMPACT는 버퍼에서 바로 델타 배열을 쓴다.
+ * motion=true는 속도·방향 필드가 붙은 배치다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GpxPayloadBenchmark {
+
+    @Param({"1", "60", "600"})
+    public int batchSize;
+
+    @Param({"JSON", "COMPACT"})
+    public CollectorProperties.PayloadFormat format;
+
+    @Param({"false", "true"})
+    public boolean motion;
+
+    private GpxPayloadEncoder encoder;
+    private GpxPointBuffer batch;
+
+    @Setup
+    public void setUp() {
+        CollectorProperties properties = new CollectorProperties();
+        properties.setPayloadFormat(format);
+        properties.setCompression(CollectorProperties.Compression.NONE);
+        encoder = new GpxPayloadEncoder(new ObjectMapper(), properties);
+
+        batch = new GpxPointBuffer(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            int latitude = 375_665 + i * 3;
+            int longitude = 1_269_780 - i * 2;
+            if (motion) {
+                batch.add(1_700_000_000L + i, latitude, longitude, 400 + i % 200, i % 360);
+            } else {
+                batch.add(1_700_000_000L + i, latitude, longitude);
+            }
+        }
+    }
+
+    @Benchmark
+    public byte[] encodeBatch() {
+        return encoder.encodeBatch("12가3456", "benchmark", batch);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.emulator.infrastructure.route;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GPX 파일 하나(태백→나주)의 trkpt 파싱 비용.
+ * scan은 메모리에 올린 바이트열을 한 번에, streamRead는 64KB 버퍼 단위 스트림 읽기(경계에서 잘린 요소 이어 붙이기 포함)다.
+ * 좌표는 필드에 누적해 소비자 람다가 할당하지 않게 한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TrkptParseBenchmark {
+
+    private byte[] gpx;
+    private double sum;
+    private final TrkptScanner.PointConsumer accumulator = (latitude, longitude) -> sum += latitude + longitude;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("gpx/taebaek-to-naju.gpx")) {
+            gpx = in.readAllBytes();
+        }
+    }
+
+    @Benchmark
+    public double scan() {
+        sum = 0;
+        TrkptScanner.scan(gpx, 0, gpx.length, accumulator);
+        return sum;
+    }
+
+    @Benchmark
+    public double streamRead() throws IOException {
+        sum = 0;
+        GpxStreamReader.read(new ByteArrayInputStream(gpx), accumulator);
+        return sum;
+    }
+}
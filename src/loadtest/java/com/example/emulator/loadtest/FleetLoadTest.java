@@ -0,0 +1,223 @@
+package com.example.emulator.loadtest;
+
+import com.example.emulator.EmulatorApplication;
+import com.example.emulator.application.DriveLogPublisher;
+import com.example.emulator.application.FleetIgnitionService;
+import com.example.emulator.application.dto.BulkPowerResultDto;
+import com.example.emulator.controller.dto.BulkPowerDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 외부 시스템 없이 차량 N대를 띄워 에뮬레이터 전체 경로(tick → 배치 → HTTP 전송)의 처리량과 지연을 잰다.
+ * collector는 같은 JVM의 {@link StubCollector}, 차량 DB는 H2, 운행 이벤트는 메모리 발행기로 대신한다.
+ * 보고 주기마다 재생 차량 수, 초당 포인트 수(생성/collector 수신), tick 지연 분위수, 전송 p99, CPU, 힙을 찍고
+ * 끝나면 램프가 끝난 뒤의 지속 처리량과 GC 후 차량당 힙 사용량을 요약한다.
+ *
+ * <p>옵션: --load.cars, --load.rate(초당 시동 수), --load.duration-seconds(램프 시작부터),
+ * --load.report-seconds, --load.collector-delay-millis, --load.batch-size, --load.max-latency-seconds(없으면 collector 설정). 나머지 인자는 그대로 Spring 설정으로 넘긴다.
+ * CPU 사용률은 stub collector를 포함한 프로세스 전체 값이다.
+ */
+@Slf4j
+public class FleetLoadTest {
+
+    static final String LOGIN_ID = "loadtest";
+    private static final int INSERT_CHUNK = 1000;
+
+    private final ConfigurableApplicationContext context;
+    private final StubCollector collector;
+    private final MeterRegistry meterRegistry;
+    private final int cars;
+    private final int rate;
+    private final long durationSeconds;
+    private final long reportSeconds;
+    private final Integer batchSize;
+    private final Integer maxLatencySeconds;
+
+    private FleetLoadTest(ConfigurableApplicationContext context, StubCollector collector, SimpleCommandLinePropertySource options) {
+        this.context = context;
+        this.collector = collector;
+        this.meterRegistry = context.getBean(MeterRegistry.class);
+        this.cars = (int) option(options, "load.cars", 1000);
+        this.rate = (int) option(options, "load.rate", 500);
+        this.durationSeconds = option(options, "load.duration-seconds", 60);
+        this.reportSeconds = Math.max(1, option(options, "load.report-seconds", 5));
+        this.batchSize = options.containsProperty("load.batch-size") ? (int) option(options, "load.batch-size", 0) : null;
+        this.maxLatencySeconds = options.containsProperty("load.max-latency-seconds")
+                ? (int) option(options, "load.max-latency-seconds", 0) : null;
+    }
+
+    public static void main(String[] args) throws Exception {
+        SimpleCommandLinePropertySource options = new SimpleCommandLinePropertySource(args);
+        int exitCode = 0;
+        try (StubCollector collector = new StubCollector(option(options, "load.collector-delay-millis", 0))) {
+            List<String> springArgs = new ArrayList<>(List.of(args));
+            springArgs.add("--emulator.collector.base-url=" + collector.baseUrl());
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EmulatorApplication.class)
+                    .profiles("loadtest")
+                    .run(springArgs.toArray(String[]::new))) {
+                new FleetLoadTest(context, collector, options).run();
+            }
+        } catch (Exception e) {
+            log.error("부하 테스트 실패", e);
+            exitCode = 1;
+        }
+        // HTTP 클라이언트 등 남은 스레드와 관계없이 종료
+        System.exit(exitCode);
+    }
+
+    private void run() throws InterruptedException {
+        seedCars();
+        long baselineHeap = usedHeapAfterGc();
+        log.info("차량 {}대 준비, 기준 힙 {} MiB", cars, baselineHeap >> 20);
+
+        BulkPowerResultDto result = context.getBean(FleetIgnitionService.class).changePowerStatus(BulkPowerDto.builder()
+                .powerStatus("ON")
+                .loginId(LOGIN_ID)
+                .count(cars)
+                .ratePerSecond(rate)
+                .batchSize(batchSize)
+                .maxLatencySeconds(maxLatencySeconds)
+                .build());
+        long startedAt = System.nanoTime();
+        long rampEndsAt = startedAt + TimeUnit.MILLISECONDS.toNanos(result.getRampMillis());
+        log.info("시동 ON {}대, 램프 {}ms, 측정 {}초", result.getAccepted(), result.getRampMillis(), durationSeconds);
+        log.info(String.format(Locale.ROOT, "%6s %7s %9s %9s %8s %8s %8s %8s %9s %6s %7s",
+                "t(s)", "active", "gen/s", "recv/s", "lag p50", "lag p99", "p99.9", "lag max", "upload99", "cpu%", "heapMiB"));
+
+        Sample first = sample();
+        Sample previous = first;
+        Sample sustainedFrom = null;
+        long deadline = startedAt + TimeUnit.SECONDS.toNanos(durationSeconds);
+        while (System.nanoTime() < deadline) {
+            Thread.sleep(Math.min(TimeUnit.SECONDS.toMillis(reportSeconds),
+                    Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()))));
+            Sample current = sample();
+            report(startedAt, previous, current);
+            if (sustainedFrom == null && current.nanos >= rampEndsAt) {
+                sustainedFrom = current;
+            }
+            previous = current;
+        }
+        // 측정 시간이 램프보다 짧으면 전체 구간으로 계산
+        Sample from = sustainedFrom != null && sustainedFrom != previous ? sustainedFrom : first;
+        summarize(from, previous, baselineHeap);
+    }
+
+    // 차량 테이블에 합성 차량을 넣는다 (JPA를 거치지 않고 배치 INSERT)
+    // 상태 write-behind가 car_number로 UPDATE하므로 인덱스가 없으면 대수가 많을 때 종료 flush가 끝나지 않는다
+    private void seedCars() {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_loadtest_car_number ON car (car_number)");
+        List<Object[]> rows = new ArrayList<>(INSERT_CHUNK);
+        for (int i = 0; i < cars; i++) {
+            rows.add(new Object[]{String.format("LT%06d", i), LOGIN_ID});
+            if (rows.size() == INSERT_CHUNK || i == cars - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO car (version, status, car_number, login_id) VALUES (0, 'IDLE', ?, ?)", rows);
+                rows.clear();
+            }
+        }
+    }
+
+    private Sample sample() {
+        double generated = 0;
+        for (Counter counter : meterRegistry.find("emulator.fleet.points").counters()) {
+            generated += counter.count();
+        }
+        Gauge active = meterRegistry.find("emulator.fleet.active.drives").gauge();
+        return new Sample(System.nanoTime(), (long) generated, collector.points(),
+                active != null ? (long) active.value() : 0);
+    }
+
+    private void report(long startedAt, Sample previous, Sample current) {
+        double seconds = (current.nanos - previous.nanos) / 1e9;
+        Percentiles lag = percentiles("emulator.tick.lag");
+        Percentiles upload = percentiles("emulator.collector.upload");
+        log.info(String.format(Locale.ROOT, "%6.0f %7d %9.0f %9.0f %8.2f %8.2f %8.2f %8.2f %9.2f %6.1f %7d",
+                (current.nanos - startedAt) / 1e9,
+                current.active,
+                (current.generated - previous.generated) / seconds,
+                (current.received - previous.received) / seconds,
+                lag.p50, lag.p99, lag.p999, lag.max,
+                upload.p99,
+                processCpuPercent(),
+                ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() >> 20));
+    }
+
+    private void summarize(Sample from, Sample to, long baselineHeap) throws InterruptedException {
+        double seconds = Math.max(1e-9, (to.nanos - from.nanos) / 1e9);
+        Percentiles lag = percentiles("emulator.tick.lag");
+        long heap = usedHeapAfterGc();
+        long perCar = to.active > 0 ? (heap - baselineHeap) / to.active : 0;
+        log.info("==== 요약 ====");
+        log.info(String.format(Locale.ROOT, "재생 차량 %d대 / 요청 %d대, 측정 구간 %.0f초", to.active, cars, seconds));
+        log.info(String.format(Locale.ROOT, "지속 처리량: 생성 %.0f points/s, collector 수신 %.0f points/s",
+                (to.generated - from.generated) / seconds, (to.received - from.received) / seconds));
+        log.info(String.format(Locale.ROOT, "tick 지연(ms): p50 %.2f, p99 %.2f, p99.9 %.2f, max %.2f",
+                lag.p50, lag.p99, lag.p999, lag.max));
+        log.info(String.format(Locale.ROOT, "collector: 요청 %d건, %d KiB", collector.requests(), collector.bytes() >> 10));
+        log.info("운행 이벤트: {}", context.getBean(DriveLogPublisher.class).getStats());
+        log.info(String.format(Locale.ROOT, "힙(GC 후): %d MiB, 기준 대비 차량당 %d bytes", heap >> 20, perCar));
+    }
+
+    // 샤드별 타이머 중 가장 나쁜 값 (분위수는 Micrometer의 최근 구간 기준)
+    private Percentiles percentiles(String name) {
+        double p50 = 0, p99 = 0, p999 = 0, max = 0;
+        for (Timer timer : meterRegistry.find(name).timers()) {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            max = Math.max(max, snapshot.max(TimeUnit.MILLISECONDS));
+            for (ValueAtPercentile value : snapshot.percentileValues()) {
+                double millis = value.value(TimeUnit.MILLISECONDS);
+                if (value.percentile() == 0.5) {
+                    p50 = Math.max(p50, millis);
+                } else if (value.percentile() == 0.99) {
+                    p99 = Math.max(p99, millis);
+                } else if (value.percentile() == 0.999) {
+                    p999 = Math.max(p999, millis);
+                }
+            }
+        }
+        return new Percentiles(p50, p99, p999, max);
+    }
+
+    private static double processCpuPercent() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os) {
+            return Math.max(0, os.getProcessCpuLoad()) * 100;
+        }
+        return -1;
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long option(SimpleCommandLinePropertySource options, String name, long defaultValue) {
+        String value = options.getProperty(name);
+        return value != null ? Long.parseLong(value) : defaultValue;
+    }
+
+    private record Sample(long nanos, long generated, long received, long active) {
+    }
+
+    private record Percentiles(double p50, double p99, double p999, double max) {
+    }
+}
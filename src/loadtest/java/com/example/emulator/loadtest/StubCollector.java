@@ -0,0 +1,132 @@
+package com.example.emulator.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * collector 대역. GPX 배치를 받아 요청 수, 본문 바이트, 포인트 수만 세고 200으로 답한다.
+ * delayMillis를 주면 응답 전에 그만큼 기다려 느린 collector를 흉내 낸다.
+ */
+@Slf4j
+class StubCollector implements AutoCloseable {
+
+    private static final byte[] TIMESTAMP = "\"timestamp\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TIME_OFFSETS = "\"timeOffsets\"".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final long delayMillis;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder points = new LongAdder();
+
+    StubCollector(long delayMillis) throws IOException {
+        this.delayMillis = delayMillis;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+        log.info("stub collector 시작: {} (응답 지연 {}ms)", baseUrl(), delayMillis);
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    long requests() {
+        return requests.sum();
+    }
+
+    long bytes() {
+        return bytes.sum();
+    }
+
+    long points() {
+        return points.sum();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readAllBytes();
+            }
+            bytes.add(body.length);
+            if ("gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+                try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                    body = in.readAllBytes();
+                }
+            }
+            points.add(countPoints(body));
+            requests.increment();
+            if (delayMillis > 0) {
+                Thread.sleep(delayMillis);
+            }
+            exchange.sendResponseHeaders(200, -1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // JSON 형식은 포인트마다 "timestamp" 키가, compact 형식은 배치마다 timeOffsets 배열이 있다
+    static long countPoints(byte[] body) {
+        long count = 0;
+        for (int i = indexOf(body, TIMESTAMP, 0); i >= 0; i = indexOf(body, TIMESTAMP, i + TIMESTAMP.length)) {
+            count++;
+        }
+        for (int i = indexOf(body, TIME_OFFSETS, 0); i >= 0; i = indexOf(body, TIME_OFFSETS, i + TIME_OFFSETS.length)) {
+            int start = indexOf(body, new byte[]{'['}, i);
+            int depth = 0;
+            int values = 0;
+            boolean inValue = false;
+            for (int j = start; j < body.length; j++) {
+                byte b = body[j];
+                if (b == '[') {
+                    depth++;
+                } else if (b == ']') {
+                    if (--depth == 0) {
+                        break;
+                    }
+                } else if (b == ',' || b == ' ') {
+                    inValue = false;
+                } else if (!inValue) {
+                    inValue = true;
+                    values++;
+                }
+            }
+            count += values;
+        }
+        return count;
+    }
+
+    private static int indexOf(byte[] body, byte[] needle, int from) {
+        outer:
+        for (int i = Math.max(0, from); i <= body.length - needle.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (body[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -1,19 +1,57 @@
 package com.example.emulator.application;
 
+import com.example.emulator.application.dto.CarSummaryDto;
+import com.example.emulator.car.CarReader;
 import com.example.emulator.car.domain.CarEntity;
+import com.example.emulator.controller.dto.CursorPageResponse;
 import com.example.emulator.infrastructure.car.CarRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class CarListService {
 
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final CarReader carReader;
     private final CarRepository carRepository;
 
     public List<CarEntity> getCarList(String loginId) {
-        return carRepository.findAllByLoginId(loginId);
+        return carReader.findAll(loginId);
+    }
+
+    // after(이전 페이지의 nextCursor) 다음부터 size건. size는 1 ~ MAX_PAGE_SIZE로 맞춘다
+    public CursorPageResponse<CarSummaryDto> getCarPage(String loginId, Integer after, Integer size) {
+        int limit = size == null ? DEFAULT_PAGE_SIZE : Math.clamp(size, 1, MAX_PAGE_SIZE);
+        // 한 건 더 읽어 다음 페이지가 있는지 판단
+        List<CarSummaryDto> rows = carRepository.findSummariesByLoginId(
+                loginId, after == null ? 0 : after, Limit.of(limit + 1));
+        if (rows.size() <= limit) {
+            return new CursorPageResponse<>(rows, null);
+        }
+        List<CarSummaryDto> content = rows.subList(0, limit);
+        return new CursorPageResponse<>(content, content.get(limit - 1).getCarId());
+    }
+
+    // 전체 목록을 MAX_PAGE_SIZE 단위 keyset 페이지로 읽어 넘긴다. 메모리에는 한 페이지만 올라간다
+    public void forEachCarPage(String loginId, Consumer<List<CarSummaryDto>> pageConsumer) {
+        int after = 0;
+        while (true) {
+            List<CarSummaryDto> page = carRepository.findSummariesByLoginId(loginId, after, Limit.of(MAX_PAGE_SIZE));
+            if (page.isEmpty()) {
+                return;
+            }
+            pageConsumer.accept(page);
+            if (page.size() < MAX_PAGE_SIZE) {
+                return;
+            }
+            after = page.get(page.size() - 1).getCarId();
+        }
     }
 }
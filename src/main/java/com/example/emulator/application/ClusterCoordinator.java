@@ -0,0 +1,144 @@
+package com.example.emulator.application;
+
+import com.example.emulator.cluster.ClusterNode;
+import com.example.emulator.cluster.HashRing;
+import com.example.emulator.cluster.NodeRegistry;
+import com.example.emulator.cluster.RingChangedEvent;
+import com.example.emulator.config.ClusterProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 클러스터 모드에서 노드 하트비트를 기록하고 살아 있는 노드로 {@link HashRing}을 만든다.
+ * 노드 구성이 바뀌면 {@link RingChangedEvent}를 발행해 담당이 바뀐 차량을 넘기거나 이어받게 한다.
+ * 클러스터 모드가 꺼져 있으면 모든 차량을 이 노드가 담당한다.
+ */
+@Slf4j
+@Component
+public class ClusterCoordinator {
+
+    private final ClusterProperties clusterProperties;
+    private final NodeRegistry nodeRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ClusterNode self;
+    private volatile HashRing ring;
+    // 리스너까지 처리를 마친 구성. 처음(null)에는 바뀌지 않았어도 알리고 (재시작 시 운행 중 차량 이어받기),
+    // 리스너가 실패하면 그대로 두어 다음 하트비트에서 다시 알린다
+    private HashRing publishedRing;
+
+    private Thread thread;
+    private volatile boolean running;
+
+    public ClusterCoordinator(ClusterProperties clusterProperties, NodeRegistry nodeRegistry,
+                              ApplicationEventPublisher eventPublisher) {
+        this.clusterProperties = clusterProperties;
+        this.nodeRegistry = nodeRegistry;
+        this.eventPublisher = eventPublisher;
+        String nodeId = clusterProperties.getNodeId();
+        this.self = new ClusterNode(nodeId == null || nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId,
+                clusterProperties.getAdvertisedUrl());
+        this.ring = new HashRing(List.of(self), 1);
+    }
+
+    @PostConstruct
+    public void validate() {
+        if (clusterProperties.isEnabled() && (self.baseUrl() == null || self.baseUrl().isBlank())) {
+            throw new IllegalStateException("클러스터 모드에는 emulator.cluster.advertised-url이 필요합니다.");
+        }
+    }
+
+    // @EventListener 빈이 모두 등록된 뒤 시작해야 첫 RingChangedEvent를 놓치지 않는다
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!clusterProperties.isEnabled()) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::heartbeatLoop, "clusterHeartbeat");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("클러스터 모드 시작: {} ({})", self.nodeId(), self.baseUrl());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        thread.interrupt();
+        thread.join(clusterProperties.getHeartbeatIntervalMillis());
+        try {
+            nodeRegistry.leave(self.nodeId());
+        } catch (Exception e) {
+            log.warn("클러스터 탈퇴 기록 실패 (하트비트 만료로 빠지게 됩니다): {}", e.getMessage());
+        }
+    }
+
+    public boolean isEnabled() {
+        return clusterProperties.isEnabled();
+    }
+
+    public ClusterNode getSelf() {
+        return self;
+    }
+
+    public ClusterNode ownerOf(String carNumber) {
+        return clusterProperties.isEnabled() ? ring.ownerOf(carNumber) : self;
+    }
+
+    public boolean isOwner(String carNumber) {
+        return ownerOf(carNumber).nodeId().equals(self.nodeId());
+    }
+
+    public HashRing getRing() {
+        return ring;
+    }
+
+    // 하트비트를 남기고 살아 있는 노드 구성이 바뀌었으면 링을 다시 만든다
+    void refresh() {
+        nodeRegistry.heartbeat(self);
+        List<ClusterNode> live = new ArrayList<>(nodeRegistry.findLiveNodes(clusterProperties.getNodeTimeoutMillis()));
+        if (live.stream().noneMatch(node -> node.nodeId().equals(self.nodeId()))) {
+            live.add(self);
+        }
+        HashRing current = publishedRing;
+        if (current != null
+                && current.getNodes().size() == live.size()
+                && current.getNodes().containsAll(live)) {
+            return;
+        }
+        HashRing updated = new HashRing(live, clusterProperties.getVirtualNodes());
+        ring = updated;
+        log.info("클러스터 노드 구성 변경: {}", updated.getNodes().stream().map(ClusterNode::nodeId).toList());
+        eventPublisher.publishEvent(new RingChangedEvent(updated));
+        publishedRing = updated;
+    }
+
+    // 실패해도 하트비트 주기만큼 쉰 뒤 다시 시도한다
+    private void heartbeatLoop() {
+        while (running) {
+            try {
+                refresh();
+            } catch (Exception e) {
+                log.error("클러스터 하트비트 실패", e);
+            }
+            try {
+                Thread.sleep(clusterProperties.getHeartbeatIntervalMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.emulator.application;
+
+import com.example.emulator.application.dto.ClusterStatsDto;
+import com.example.emulator.car.CarStatus;
+import com.example.emulator.car.domain.CarEntity;
+import com.example.emulator.cluster.ClusterNode;
+import com.example.emulator.cluster.HashRing;
+import com.example.emulator.cluster.RingChangedEvent;
+import com.example.emulator.config.ClusterProperties;
+import com.example.emulator.infrastructure.car.CarRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * 클러스터 노드 구성이 바뀌면 담당이 바뀐 차량을 정리한다.
+ * 더 이상 담당하지 않는 차량은 재생만 멈추고(상태는 운행 유지), 새로 담당하게 된 차량 중
+ * DB 상태가 운행인 차량은 이 노드에서 새로 재생을 시작한다. 빠진 노드의 차량도 이렇게 이어받는다.
+ * 상태 반영은 write-behind라 막 시동을 건 차량은 한 주기 동안 이어받지 못할 수 있다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClusterService {
+
+    private final ClusterCoordinator clusterCoordinator;
+    private final ClusterProperties clusterProperties;
+    private final LogService logService;
+    private final CarRepository carRepository;
+    private final GpxUploader gpxUploader;
+
+    @EventListener
+    public void onRingChanged(RingChangedEvent event) {
+        HashRing ring = event.ring();
+        String self = clusterCoordinator.getSelf().nodeId();
+
+        int handedOff = 0;
+        for (String carNumber : logService.getRunningCarNumbers()) {
+            if (!ring.ownerOf(carNumber).nodeId().equals(self)) {
+                logService.handOff(carNumber);
+                handedOff++;
+            }
+        }
+
+        int adopted = 0;
+        if (clusterProperties.isAdoptOnRebalance()) {
+            FlushPolicy flushPolicy = gpxUploader.defaultPolicy();
+            for (CarEntity car : carRepository.findAllByStatus(CarStatus.DRIVING)) {
+                if (ring.ownerOf(car.getCarNumber()).nodeId().equals(self) && !logService.isRunning(car.getCarNumber())) {
+                    try {
+                        logService.startDrive(car.getCarNumber(), car.getLoginId(), flushPolicy);
+                        adopted++;
+                    } catch (RuntimeException e) {
+                        log.error("재분배 차량 운행 시작 실패: {} ({})", car.getCarNumber(), e.getMessage());
+                    }
+                }
+            }
+        }
+        log.info("클러스터 재분배: 넘긴 차량 {}대, 이어받은 차량 {}대", handedOff, adopted);
+    }
+
+    public ClusterStatsDto getStats() {
+        return ClusterStatsDto.builder()
+                .enabled(clusterCoordinator.isEnabled())
+                .nodeId(clusterCoordinator.getSelf().nodeId())
+                .nodes(clusterCoordinator.getRing().getNodes().stream().map(ClusterNode::nodeId).toList())
+                .runningCars(logService.getRunningCount())
+                .build();
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.emulator.application;
+
+import com.example.emulator.config.CheckpointProperties;
+import com.example.emulator.route.GpxRoute;
+import com.example.emulator.route.RouteCatalog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 운행 중인 차량의 재생 위치와 미전송 버퍼를 주기적으로 로컬 파일에 저장하고, 시작할 때 이어서 재생한다.
+ * 차량 상태는 각 tick shard 스레드가 tick 사이에 직렬화하므로 잠금 없이 일관된 값을 읽는다
+ * ({@link FleetTickEngine#visitDrives}). 파일은 임시 파일에 쓴 뒤 교체해 쓰는 도중 죽어도 이전 체크포인트가 남는다.
+ * 종료할 때도 한 번 저장한다. 이미 전송 단계로 넘어간 배치는 포함하지 않는다 (HTTP는 스풀이 보관).
+ */
+@Slf4j
+@Component
+public class DriveCheckpointService {
+
+    private final CheckpointProperties checkpointProperties;
+    private final FleetTickEngine fleetTickEngine;
+    private final LogService logService;
+    private final RouteCatalog routeCatalog;
+
+    private final Path file;
+    private Thread thread;
+    private volatile boolean running;
+
+    public DriveCheckpointService(CheckpointProperties checkpointProperties, FleetTickEngine fleetTickEngine,
+                                  LogService logService, RouteCatalog routeCatalog) {
+        this.checkpointProperties = checkpointProperties;
+        this.fleetTickEngine = fleetTickEngine;
+        this.logService = logService;
+        this.routeCatalog = routeCatalog;
+        this.file = Path.of(checkpointProperties.getFile());
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!checkpointProperties.isEnabled()) {
+            return;
+        }
+        restore();
+        running = true;
+        thread = new Thread(this::checkpointLoop, "driveCheckpoint");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // tick 엔진보다 먼저 종료되므로 마지막 상태를 저장할 수 있다
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        thread.interrupt();
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+        try {
+            checkpoint();
+        } catch (Exception e) {
+            log.error("종료 시 운행 체크포인트 저장 실패", e);
+        }
+    }
+
+    // 현재 운행 상태를 파일에 저장하고 저장한 운행 수를 돌려준다
+    public int checkpoint() throws Exception {
+        Map<String, Integer> routeIndexes = new ConcurrentHashMap<>();
+        AtomicInteger nextRouteIndex = new AtomicInteger();
+        long createdAt = System.currentTimeMillis();
+        List<DriveSnapshotCodec.Chunk> chunks = fleetTickEngine.visitDrives(() -> new FleetTickEngine.DriveVisitor<DriveSnapshotCodec.Chunk>() {
+            private final DriveSnapshotCodec.ChunkWriter writer = new DriveSnapshotCodec.ChunkWriter();
+
+            @Override
+            public void visit(GpxScheduler drive) {
+                int routeIndex = routeIndexes.computeIfAbsent(drive.getRoute().getName(), name -> nextRouteIndex.getAndIncrement());
+                try {
+                    writer.write(drive.getCarNumber(), drive.getLoginId(), routeIndex, drive.getCurrentIndex(),
+                            drive.getEndIndex(), drive.getFlushPolicy(), drive.getClockOriginMillis(), drive.getClockTicks(),
+                            drive.getMotion() != null ? drive.getMotion().state() : null, drive.getBuffer());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public DriveSnapshotCodec.Chunk result() {
+                return writer.finish();
+            }
+        }).get(checkpointProperties.getIntervalMillis() + TimeUnit.SECONDS.toMillis(10), TimeUnit.MILLISECONDS);
+
+        String[] routeNames = new String[routeIndexes.size()];
+        routeIndexes.forEach((name, index) -> routeNames[index] = name);
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 256 * 1024);
+            DriveSnapshotCodec.write(out, createdAt, List.of(routeNames), chunks);
+            channel.force(false);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        int drives = 0;
+        for (DriveSnapshotCodec.Chunk chunk : chunks) {
+            drives += chunk.drives();
+        }
+        log.debug("운행 체크포인트 저장: {}대, {}ms", drives, System.currentTimeMillis() - createdAt);
+        return drives;
+    }
+
+    // 체크포인트의 운행을 이어서 재생한다. 경로가 더 이상 없거나 이미 재생 중인 차량은 건너뛴다
+    void restore() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        DriveSnapshotCodec.Snapshot snapshot;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 256 * 1024))) {
+            snapshot = DriveSnapshotCodec.read(in);
+        } catch (IOException e) {
+            log.error("운행 체크포인트를 읽지 못해 복원하지 않습니다: {}", file, e);
+            return;
+        }
+
+        long ageSeconds = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - snapshot.createdAtMillis());
+        if (ageSeconds > checkpointProperties.getMaxAgeSeconds()) {
+            log.warn("운행 체크포인트가 {}초 전 것이라 복원하지 않습니다.", ageSeconds);
+            return;
+        }
+
+        Map<String, Optional<GpxRoute>> routes = new HashMap<>();
+        List<String> skipped = new ArrayList<>();
+        int restored = 0;
+        for (DriveSnapshot drive : snapshot.drives()) {
+            GpxRoute route = routes.computeIfAbsent(drive.routeName(), routeCatalog::findByName).orElse(null);
+            if (route == null || drive.endIndex() > route.size() || logService.isRunning(drive.carNumber())) {
+                skipped.add(drive.carNumber());
+                continue;
+            }
+            logService.resumeDrive(drive, route);
+            restored++;
+        }
+        log.info("운행 체크포인트 복원: {}대 ({}초 전 저장, {}ms), 건너뜀 {}대 {}", restored, ageSeconds,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt), skipped.size(),
+                skipped.size() > 10 ? skipped.subList(0, 10) + "..." : skipped);
+    }
+
+    private void checkpointLoop() {
+        while (running) {
+            try {
+                Thread.sleep(checkpointProperties.getIntervalMillis());
+                checkpoint();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("운행 체크포인트 저장 실패", e);
+            }
+        }
+    }
+}
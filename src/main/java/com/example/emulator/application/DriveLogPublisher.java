@@ -0,0 +1,19 @@
+package com.example.emulator.application;
+
+import com.example.emulator.application.dto.DriveLogEventDto;
+import com.example.emulator.application.dto.DriveLogStatsDto;
+
+import java.util.List;
+
+/**
+ * 운행 이벤트(drive.log.*) 발행. emulator.drive-log.publisher 설정으로 구현을 고른다.
+ * 호출 스레드를 블로킹하지 않아야 한다.
+ */
+public interface DriveLogPublisher {
+
+    void sendMessage(String exchange, String routingKey, DriveLogEventDto message);
+
+    void sendMessages(String exchange, String routingKey, List<DriveLogEventDto> messages);
+
+    DriveLogStatsDto getStats();
+}
@@ -0,0 +1,10 @@
+package com.example.emulator.application;
+
+// 체크포인트에서 읽은 운행 한 건: 재생 위치와 아직 보내지 않은 버퍼 포인트
+// motion, speedsE1, headings는 주행 모델을 쓰던 운행만 있고 아니면 null
+// clockOriginMillis는 운행 시계가 시작되기 전이었거나 version 3 이전 파일이면 Long.MIN_VALUE
+record DriveSnapshot(String carNumber, String loginId, String routeName, int currentIndex, int endIndex,
+                     int batchSize, long maxLatencySeconds, long clockOriginMillis, long clockTicks,
+                     MotionModel.State motion,
+                     long[] epochSeconds, int[] latitudesE4, int[] longitudesE4, int[] speedsE1, int[] headings) {
+}
@@ -0,0 +1,227 @@
+package com.example.emulator.application;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 운행 체크포인트 파일 형식.
+ * <pre>
+ * magic(4) | version(2) | createdAtMillis(8) | 경로 이름 수 | 경로 이름(UTF)...
+ * | 운행 묶음 수 | 묶음마다 (운행 수, 바이트 수, 운행...)
+ * 운행: carNumber(UTF) | loginId(UTF) | 경로 번호 | currentIndex | endIndex | batchSize | maxLatencySeconds
+ *      | flags(1, version 2부터) | (운행 시계가 시작됐으면, version 3부터) 시작 시각(8), tick 수
+ *      | (주행 모델이면) 거리, 속도, 정차 번호, 다음 정차 거리, 남은 정차 시간
+ *      | 버퍼 포인트 수 | (포인트가 있으면) 첫 시각(8) + 포인트마다 (시각, 위도, 경도[, 속도, 방향])의 직전 값과의 차이
+ * </pre>
+ * 정수는 varint(차이는 zigzag)로 써서 운행 한 건이 보통 수십~수백 바이트가 된다.
+ * 묶음은 tick shard마다 shard 스레드에서 만든다.
+ */
+final class DriveSnapshotCodec {
+
+    static final int MAGIC = 0x47505843; // "GPXC"
+    static final short VERSION = 3;
+
+    private static final int FLAG_MOTION = 1;
+    private static final int FLAG_BUFFER_MOTION = 2;
+    private static final int FLAG_CLOCK = 4;
+    private static final long NO_CLOCK = Long.MIN_VALUE;
+
+    private DriveSnapshotCodec() {
+    }
+
+    // shard 하나의 운행들을 묶음으로 직렬화한다 (tick 스레드에서 호출)
+    static final class ChunkWriter {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private int count;
+
+        void write(String carNumber, String loginId, int routeIndex, int currentIndex, int endIndex,
+                   FlushPolicy flushPolicy, long clockOriginMillis, long clockTicks,
+                   MotionModel.State motion, GpxPointBuffer buffer) throws IOException {
+            out.writeUTF(carNumber);
+            out.writeUTF(loginId != null ? loginId : "");
+            writeVarint(out, routeIndex);
+            writeVarint(out, currentIndex);
+            writeVarint(out, endIndex);
+            writeVarint(out, flushPolicy.getBatchSize());
+            writeVarint(out, flushPolicy.getMaxLatencySeconds());
+            boolean bufferMotion = buffer.hasMotion();
+            boolean clock = clockOriginMillis != NO_CLOCK;
+            out.writeByte((motion != null ? FLAG_MOTION : 0) | (bufferMotion ? FLAG_BUFFER_MOTION : 0)
+                    | (clock ? FLAG_CLOCK : 0));
+            if (clock) {
+                out.writeLong(clockOriginMillis);
+                writeVarint(out, clockTicks);
+            }
+            if (motion != null) {
+                out.writeDouble(motion.distance());
+                out.writeDouble(motion.speed());
+                writeVarint(out, motion.stopCount());
+                out.writeDouble(motion.nextStopAt());
+                out.writeDouble(motion.stopRemaining());
+            }
+            int size = buffer.size();
+            writeVarint(out, size);
+            if (size > 0) {
+                long previousTime = buffer.epochSecond(0);
+                out.writeLong(previousTime);
+                int previousLatitude = 0;
+                int previousLongitude = 0;
+                int previousSpeed = 0;
+                for (int i = 0; i < size; i++) {
+                    writeVarint(out, zigzag(buffer.epochSecond(i) - previousTime));
+                    writeVarint(out, zigzag(buffer.latitudeE4(i) - previousLatitude));
+                    writeVarint(out, zigzag(buffer.longitudeE4(i) - previousLongitude));
+                    previousTime = buffer.epochSecond(i);
+                    previousLatitude = buffer.latitudeE4(i);
+                    previousLongitude = buffer.longitudeE4(i);
+                    if (bufferMotion) {
+                        writeVarint(out, zigzag(buffer.speedE1(i) - previousSpeed));
+                        writeVarint(out, buffer.heading(i));
+                        previousSpeed = buffer.speedE1(i);
+                    }
+                }
+            }
+            count++;
+        }
+
+        Chunk finish() {
+            return new Chunk(count, bytes.toByteArray());
+        }
+    }
+
+    record Chunk(int drives, byte[] bytes) {
+    }
+
+    record Snapshot(long createdAtMillis, List<DriveSnapshot> drives) {
+    }
+
+    static void write(OutputStream target, long createdAtMillis, List<String> routeNames, List<Chunk> chunks) throws IOException {
+        DataOutputStream out = new DataOutputStream(target);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(createdAtMillis);
+        writeVarint(out, routeNames.size());
+        for (String routeName : routeNames) {
+            out.writeUTF(routeName);
+        }
+        writeVarint(out, chunks.size());
+        for (Chunk chunk : chunks) {
+            writeVarint(out, chunk.drives());
+            writeVarint(out, chunk.bytes().length);
+            out.write(chunk.bytes());
+        }
+        out.flush();
+    }
+
+    static Snapshot read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("운행 체크포인트 파일이 아닙니다.");
+        }
+        short version = in.readShort();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("지원하지 않는 체크포인트 버전: " + version);
+        }
+        long createdAtMillis = in.readLong();
+        String[] routeNames = new String[(int) readVarint(in)];
+        for (int i = 0; i < routeNames.length; i++) {
+            routeNames[i] = in.readUTF();
+        }
+
+        List<DriveSnapshot> drives = new ArrayList<>();
+        int chunks = (int) readVarint(in);
+        for (int c = 0; c < chunks; c++) {
+            int count = (int) readVarint(in);
+            readVarint(in); // 묶음 바이트 수 (순서대로 읽을 때는 쓰지 않는다)
+            for (int d = 0; d < count; d++) {
+                drives.add(readDrive(in, version, routeNames));
+            }
+        }
+        return new Snapshot(createdAtMillis, drives);
+    }
+
+    private static DriveSnapshot readDrive(DataInput in, short version, String[] routeNames) throws IOException {
+        String carNumber = in.readUTF();
+        String loginId = in.readUTF();
+        String routeName = routeNames[(int) readVarint(in)];
+        int currentIndex = (int) readVarint(in);
+        int endIndex = (int) readVarint(in);
+        int batchSize = (int) readVarint(in);
+        long maxLatencySeconds = readVarint(in);
+        int flags = version >= 2 ? in.readByte() : 0;
+        long clockOriginMillis = NO_CLOCK;
+        long clockTicks = 0;
+        if ((flags & FLAG_CLOCK) != 0) {
+            clockOriginMillis = in.readLong();
+            clockTicks = readVarint(in);
+        }
+        MotionModel.State motion = null;
+        if ((flags & FLAG_MOTION) != 0) {
+            motion = new MotionModel.State(in.readDouble(), in.readDouble(), (int) readVarint(in),
+                    in.readDouble(), in.readDouble());
+        }
+        boolean bufferMotion = (flags & FLAG_BUFFER_MOTION) != 0;
+        int size = (int) readVarint(in);
+        long[] epochSeconds = new long[size];
+        int[] latitudes = new int[size];
+        int[] longitudes = new int[size];
+        int[] speeds = bufferMotion ? new int[size] : null;
+        int[] headings = bufferMotion ? new int[size] : null;
+        if (size > 0) {
+            long time = in.readLong();
+            int latitude = 0;
+            int longitude = 0;
+            int speed = 0;
+            for (int i = 0; i < size; i++) {
+                time += unzigzag(readVarint(in));
+                latitude += (int) unzigzag(readVarint(in));
+                longitude += (int) unzigzag(readVarint(in));
+                epochSeconds[i] = time;
+                latitudes[i] = latitude;
+                longitudes[i] = longitude;
+                if (bufferMotion) {
+                    speed += (int) unzigzag(readVarint(in));
+                    speeds[i] = speed;
+                    headings[i] = (int) readVarint(in);
+                }
+            }
+        }
+        return new DriveSnapshot(carNumber, loginId.isEmpty() ? null : loginId, routeName, currentIndex, endIndex,
+                batchSize, maxLatencySeconds, clockOriginMillis, clockTicks, motion, epochSeconds, latitudes, longitudes, speeds, headings);
+    }
+
+    private static void writeVarint(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarint(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("잘못된 varint");
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
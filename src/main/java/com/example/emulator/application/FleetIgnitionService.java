@@ -0,0 +1,169 @@
+package com.example.emulator.application;
+
+import com.example.emulator.application.dto.BulkPowerResultDto;
+import com.example.emulator.application.dto.DriveLogEventDto;
+import com.example.emulator.car.domain.CarEntity;
+import com.example.emulator.cluster.ClusterNode;
+import com.example.emulator.controller.dto.BulkPowerDto;
+import com.example.emulator.infrastructure.car.CarRepository;
+import com.example.emulator.infrastructure.cluster.ClusterForwarder;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 여러 차량의 시동 ON/OFF를 한 번에 처리한다. 차량은 한 번에 조회하고,
+ * 지정한 속도(초당 차량 수)로 RAMP_STEP_MILLIS마다 조금씩 나눠 시작/중지해 상태 변경·이벤트·배치 전송이 한순간에 몰리지 않게 한다.
+ * 속도가 낮으면(초당 10대 미만) 한 대씩 더 긴 간격으로 나눈다. 클러스터 모드의 속도는 클러스터 전체 기준이라 노드마다 노드 수로 나눠 적용한다.
+ * 나눠진 묶음마다 운행 이벤트는 한 번에 발행하고 상태 변경은 write-behind로 합쳐진다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FleetIgnitionService {
+
+    static final int DEFAULT_RATE_PER_SECOND = 500;
+    private static final long RAMP_STEP_MILLIS = 100;
+    private static final int LOOKUP_CHUNK = 1000;
+
+    private final LogService logService;
+    private final CarRepository carRepository;
+    private final GpxUploader gpxUploader;
+    private final DriveLogPublisher driveLogPublisher;
+    private final ClusterCoordinator clusterCoordinator;
+    private final ClusterForwarder clusterForwarder;
+
+    private final ScheduledExecutorService rampExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "fleetRamp");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    public void stop() {
+        rampExecutor.shutdownNow();
+    }
+
+    public BulkPowerResultDto changePowerStatus(BulkPowerDto bulkPowerDto) {
+        return changePowerStatus(bulkPowerDto, null);
+    }
+
+    /**
+     * 클러스터 모드에서는 이 노드가 담당하는 차량만 처리한다. 차량 선택(count 제한 포함)은 모든 노드에서 같으므로
+     * 처음 받은 노드가 같은 요청을 다른 노드에 넘기면(forwardedBy) 각 노드의 담당분을 합쳐 요청한 차량 전체가 된다.
+     */
+    public BulkPowerResultDto changePowerStatus(BulkPowerDto bulkPowerDto, String forwardedBy) {
+        boolean on = bulkPowerDto.getPowerStatus().equals("ON");
+        List<String> notFound = new ArrayList<>();
+        List<CarEntity> resolved = resolveCars(bulkPowerDto, notFound);
+        List<CarEntity> cars = resolved;
+        if (clusterCoordinator.isEnabled()) {
+            cars = new ArrayList<>(resolved.size());
+            for (CarEntity car : resolved) {
+                if (clusterCoordinator.isOwner(car.getCarNumber())) {
+                    cars.add(car);
+                }
+            }
+            if (forwardedBy == null) {
+                ClusterNode self = clusterCoordinator.getSelf();
+                for (ClusterNode node : clusterCoordinator.getRing().getNodes()) {
+                    if (!node.nodeId().equals(self.nodeId())) {
+                        clusterForwarder.forwardBulk(node, self.nodeId(), bulkPowerDto);
+                    }
+                }
+            }
+        }
+        FlushPolicy flushPolicy = gpxUploader.policyFor(bulkPowerDto.getBatchSize(), bulkPowerDto.getMaxLatencySeconds());
+
+        int requestedRate = bulkPowerDto.getRatePerSecond() != null ? bulkPowerDto.getRatePerSecond() : DEFAULT_RATE_PER_SECOND;
+        int rate = requestedRate;
+        if (clusterCoordinator.isEnabled()) {
+            int nodes = Math.max(1, clusterCoordinator.getRing().getNodes().size());
+            rate = Math.max(1, (requestedRate + nodes - 1) / nodes);
+        }
+        long rampMillis = scheduleRamp(cars, on, flushPolicy, rate);
+        log.info("대량 시동 {}: {}대, 초당 {}대 (요청 {})", bulkPowerDto.getPowerStatus(), cars.size(), rate, requestedRate);
+
+        return BulkPowerResultDto.builder()
+                .powerStatus(bulkPowerDto.getPowerStatus())
+                .requested(bulkPowerDto.getCarNumbers() != null ? bulkPowerDto.getCarNumbers().size() : cars.size())
+                .accepted(cars.size())
+                .notOwned(resolved.size() - cars.size())
+                .notFound(notFound)
+                .rampMillis(rampMillis)
+                .build();
+    }
+
+    // k번째 단계(k × stepMillis)까지 누적 rate × 경과 시간만큼 시작하도록 나눈다. 마지막 단계의 지연을 돌려준다
+    private long scheduleRamp(List<CarEntity> cars, boolean on, FlushPolicy flushPolicy, int rate) {
+        long stepMillis = Math.max(RAMP_STEP_MILLIS, 1000 / rate);
+        long delay = 0;
+        int from = 0;
+        for (long step = 1; from < cars.size(); step++) {
+            int to = (int) Math.min(cars.size(), Math.max(from + 1, step * stepMillis * rate / 1000));
+            List<CarEntity> batch = cars.subList(from, to);
+            delay = (step - 1) * stepMillis;
+            rampExecutor.schedule(() -> apply(batch, on, flushPolicy), delay, TimeUnit.MILLISECONDS);
+            from = to;
+        }
+        return delay;
+    }
+
+    private void apply(List<CarEntity> cars, boolean on, FlushPolicy flushPolicy) {
+        String status = on ? "ON" : "OFF";
+        List<DriveLogEventDto> events = new ArrayList<>(cars.size());
+        for (CarEntity car : cars) {
+            try {
+                if (on) {
+                    logService.startDrive(car.getCarNumber(), car.getLoginId(), flushPolicy);
+                } else {
+                    logService.stopDrive(car.getCarNumber());
+                }
+                events.add(LogService.driveLogEvent(car.getCarNumber(), status));
+            } catch (Exception e) {
+                log.error("대량 시동 {} 처리 실패: {}", status, car.getCarNumber(), e);
+            }
+        }
+        if (!events.isEmpty()) {
+            driveLogPublisher.sendMessages(LogService.DRIVE_LOG_EXCHANGE, "drive.log." + status, events);
+        }
+    }
+
+    private List<CarEntity> resolveCars(BulkPowerDto bulkPowerDto, List<String> notFound) {
+        List<String> carNumbers = bulkPowerDto.getCarNumbers();
+        if (carNumbers == null || carNumbers.isEmpty()) {
+            // 노드마다 캐시 내용이 다를 수 있으므로 캐시를 거치지 않고 DB에서 car_id 순으로 앞에서부터 count대
+            Integer count = bulkPowerDto.getCount();
+            return carRepository.findAllByLoginIdOrderByIdAsc(bulkPowerDto.getLoginId(),
+                    count != null ? Limit.of(count) : Limit.unlimited());
+        }
+
+        Set<String> requested = new LinkedHashSet<>(carNumbers);
+        List<String> distinct = new ArrayList<>(requested);
+        List<CarEntity> cars = new ArrayList<>(distinct.size());
+        for (int from = 0; from < distinct.size(); from += LOOKUP_CHUNK) {
+            cars.addAll(carRepository.findAllByCarNumberIn(distinct.subList(from, Math.min(from + LOOKUP_CHUNK, distinct.size()))));
+        }
+        Set<String> found = new HashSet<>(cars.size());
+        for (CarEntity car : cars) {
+            found.add(car.getCarNumber());
+        }
+        for (String carNumber : distinct) {
+            if (!found.contains(carNumber)) {
+                notFound.add(carNumber);
+            }
+        }
+        return cars;
+    }
+}
@@ -0,0 +1,342 @@
+package com.example.emulator.application;
+
+import com.example.emulator.application.dto.TickStatsDto;
+import com.example.emulator.config.FleetProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * 모든 운행 차량의 위치 tick을 소수의 전용 스레드(shard)에서 처리한다.
+ * 차량마다 ScheduledFuture를 두지 않고, 각 shard가 자기 차량 배열을 주기마다 한 번씩 순회한다.
+ * shard마다 주기 안에서 시작 위상을 고르게 어긋나게 두어 모든 tick이 같은 순간에 몰리지 않게 한다.
+ * 포인트 시각은 실제 시계가 아니라 운행마다의 시뮬레이션 시계(운행 시작 시각 + 운행이 받은 tick 수 × tickPeriodMillis)에서 만든다.
+ * 운행 시작 시각은 clock-start가 있으면 그 시각, 없으면 첫 tick의 실제 시각이라, clock-start와 seed가 같으면
+ * 차량이 어느 shard에 있든, 시동 요청이 언제 도착했든 같은 시각이 나온다.
+ * 배속(speedMultiplier)을 올리면 실제 tick 간격만 줄고 포인트 사이 시각 간격은 그대로다.
+ * 주기를 따라가지 못하면 밀린 tick을 건너뛰고(skippedTicks) 실제 배속(effectiveSpeed)을 보고한다.
+ * 건너뛴 tick 동안에는 포인트도 시뮬레이션 시각도 진행하지 않는다.
+ * 배치 전송은 {@link GpxUploader}로 넘겨 tick 스레드가 I/O에 묶이지 않도록 한다.
+ * shard별 tick 지연(예정 시각 대비 시작 지연 = jitter)과 처리 시간은 히스토그램으로, 생성 포인트와 건너뛴 tick은 카운터로 기록한다.
+ */
+@Slf4j
+@Component
+public class FleetTickEngine {
+
+    // 차량들이 함께 쓰는 예비 버퍼 수 상한
+    private static final int MAX_POOLED_BUFFERS = 1024;
+
+    private final FleetProperties fleetProperties;
+    private final MeterRegistry meterRegistry;
+    private final GpxPointBufferPool bufferPool = new GpxPointBufferPool(MAX_POOLED_BUFFERS);
+
+    private Shard[] shards;
+
+    public FleetTickEngine(FleetProperties fleetProperties, MeterRegistry meterRegistry) {
+        this.fleetProperties = fleetProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        int shardCount = Math.max(1, fleetProperties.getTickShards());
+        double speed = fleetProperties.getSpeedMultiplier() > 0 ? fleetProperties.getSpeedMultiplier() : 1.0;
+        long periodNanos = Math.max(1, Math.round(TimeUnit.MILLISECONDS.toNanos(fleetProperties.getTickPeriodMillis()) / speed));
+        boolean fixedStart = fleetProperties.getClockStart() != null;
+        long clockStartMillis = fixedStart ? fleetProperties.getClockStart().toEpochMilli() : System.currentTimeMillis();
+        SimulationClock clock = new SimulationClock(clockStartMillis, fixedStart, fleetProperties.getTickPeriodMillis(), speed);
+        shards = new Shard[shardCount];
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, periodNanos, startedAt + periodNanos * i / shardCount, clock, ShardMeters.of(meterRegistry, i));
+            Thread thread = new Thread(shards[i], "fleet-tick-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        log.info("FleetTickEngine 시작: shard {}개, 주기 {}ms, 배속 {}", shardCount, fleetProperties.getTickPeriodMillis(), speed);
+        Gauge.builder("emulator.fleet.active.drives", this, FleetTickEngine::getActiveDrives)
+                .description("재생 중인 차량 수")
+                .register(meterRegistry);
+        Gauge.builder("emulator.fleet.pooled.buffers", bufferPool, GpxPointBufferPool::pooled)
+                .description("재사용을 기다리는 포인트 버퍼 수")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        for (Shard shard : shards) {
+            shard.running = false;
+        }
+    }
+
+    public void register(GpxScheduler drive) {
+        shardOf(drive).pendingAdds.add(drive);
+    }
+
+    public void unregister(GpxScheduler drive) {
+        shardOf(drive).pendingRemoves.add(drive);
+    }
+
+    // flush 때 교체할 버퍼를 빌리고, 전송이 끝나면 돌려준다
+    GpxPointBufferPool bufferPool() {
+        return bufferPool;
+    }
+
+    public int getActiveDrives() {
+        int total = 0;
+        for (Shard shard : shards) {
+            total += shard.size;
+        }
+        return total;
+    }
+
+    public List<TickStatsDto> getTickStats() {
+        List<TickStatsDto> stats = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            stats.add(shard.snapshot());
+        }
+        return stats;
+    }
+
+    /**
+     * 각 shard 스레드가 다음 tick 직전에 자기 차량을 모두 방문한다 (shard마다 visitors.get()으로 만든 방문자 하나).
+     * tick 스레드만 바꾸는 차량 상태(위치, 버퍼)를 일관되게 읽을 때 사용한다. 결과는 shard 순서대로 돌려준다.
+     */
+    public <T> CompletableFuture<List<T>> visitDrives(Supplier<? extends DriveVisitor<T>> visitors) {
+        List<CompletableFuture<T>> results = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            results.add(shard.visit(visitors));
+        }
+        return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> results.stream().map(CompletableFuture::join).toList());
+    }
+
+    public interface DriveVisitor<T> {
+        void visit(GpxScheduler drive);
+
+        T result();
+    }
+
+    private Shard shardOf(GpxScheduler drive) {
+        return shards[Math.floorMod(drive.getCarNumber().hashCode(), shards.length)];
+    }
+
+    // shard 하나의 계측 (tick 스레드에서만 기록)
+    private record ShardMeters(Timer lag, Timer duration, Counter points, Counter skipped) {
+        static ShardMeters of(MeterRegistry registry, int shard) {
+            String tag = Integer.toString(shard);
+            return new ShardMeters(
+                    Timer.builder("emulator.tick.lag").description("예정 시각 대비 tick 시작 지연")
+                            .tag("shard", tag).publishPercentileHistogram().register(registry),
+                    Timer.builder("emulator.tick.duration").description("tick 한 번의 차량 처리 시간")
+                            .tag("shard", tag).publishPercentileHistogram().register(registry),
+                    Counter.builder("emulator.fleet.points").description("생성한 위치 포인트 수 (차량 tick 수)")
+                            .tag("shard", tag).register(registry),
+                    Counter.builder("emulator.tick.skipped").description("처리 지연으로 건너뛴 tick 수")
+                            .tag("shard", tag).register(registry));
+        }
+    }
+
+    // tick 번호 → 시뮬레이션 시각. fixedStart면 모든 운행이 startMillis에서 시작한다
+    record SimulationClock(long startMillis, boolean fixedStart, long tickPeriodMillis, double speed) {
+        // 엔진 시작 기준 시각 (shard 통계용)
+        long epochSecond(long tickIndex) {
+            return epochSecond(startMillis, tickIndex);
+        }
+
+        long epochSecond(long originMillis, long tickIndex) {
+            return Math.floorDiv(originMillis + tickIndex * tickPeriodMillis, 1000);
+        }
+
+        // 첫 tick을 맞는 운행의 시작 시각
+        long driveOriginMillis() {
+            return fixedStart ? startMillis : System.currentTimeMillis();
+        }
+    }
+
+    private static final class Shard implements Runnable {
+
+        private final int index;
+        private final long periodNanos;
+        private final long firstDeadline;
+        private final SimulationClock clock;
+        private final ShardMeters meters;
+
+        private final Queue<GpxScheduler> pendingAdds = new ConcurrentLinkedQueue<>();
+        private final Queue<GpxScheduler> pendingRemoves = new ConcurrentLinkedQueue<>();
+        private final Queue<Runnable> pendingVisits = new ConcurrentLinkedQueue<>();
+
+        // tick 스레드만 수정하는 밀집 배열 (제거 시 마지막 원소로 채움)
+        private GpxScheduler[] drives = new GpxScheduler[1024];
+        private volatile int size;
+        private volatile boolean running = true;
+
+        private volatile long ticks;
+        private volatile long tickIndex; // 시작 이후 예정된 tick 번호 (건너뛴 tick 포함)
+        private volatile long skippedTicks;
+        private volatile long overruns;
+        private volatile long lastLagNanos;
+        private volatile long maxLagNanos;
+        private volatile long lastTickNanos;
+        private volatile long maxTickNanos;
+
+        private Shard(int index, long periodNanos, long firstDeadline, SimulationClock clock, ShardMeters meters) {
+            this.index = index;
+            this.periodNanos = periodNanos;
+            this.firstDeadline = firstDeadline;
+            this.clock = clock;
+            this.meters = meters;
+        }
+
+        @Override
+        public void run() {
+            long deadline = firstDeadline;
+            long now;
+            while (running && (now = System.nanoTime()) < deadline) {
+                LockSupport.parkNanos(deadline - now);
+            }
+            while (running) {
+                long startedAt = System.nanoTime();
+                long lag = startedAt - deadline;
+
+                applyPending();
+                int ticked = size;
+                for (int i = 0; i < size; i++) {
+                    GpxScheduler drive = drives[i];
+                    boolean alive = true;
+                    try {
+                        alive = drive.tick(drive.nextEpochSecond(clock));
+                    } catch (Exception e) {
+                        log.error("GPX 재생 중 오류 발생", e);
+                    }
+                    if (!alive) {
+                        removeAt(i--);
+                    }
+                }
+
+                long elapsed = System.nanoTime() - startedAt;
+                record(lag, elapsed, ticked);
+
+                deadline += periodNanos;
+                tickIndex++;
+                now = System.nanoTime();
+                if (now - deadline > periodNanos) {
+                    // 한 주기 이상 밀렸으면 몰아서 실행하지 않고 밀린 tick을 건너뛰어 현재 시각에 맞춘다
+                    long behind = (now - deadline) / periodNanos;
+                    overruns++;
+                    skippedTicks += behind;
+                    meters.skipped().increment(behind);
+                    log.warn("fleet-tick-{} 처리 지연: tick {}ms, 차량 {}대, tick {}개 건너뜀 (배속 {})", index,
+                            TimeUnit.NANOSECONDS.toMillis(elapsed), size, behind, clock.speed());
+                    deadline += behind * periodNanos;
+                    tickIndex += behind;
+                }
+                while (running && (now = System.nanoTime()) < deadline) {
+                    LockSupport.parkNanos(deadline - now);
+                }
+            }
+        }
+
+        private void applyPending() {
+            GpxScheduler drive;
+            while ((drive = pendingAdds.poll()) != null) {
+                if (drive.isStopped()) {
+                    continue;
+                }
+                if (size == drives.length) {
+                    drives = Arrays.copyOf(drives, size * 2);
+                }
+                drive.engineSlot = size;
+                drives[size] = drive;
+                size++;
+            }
+            while ((drive = pendingRemoves.poll()) != null) {
+                if (drive.engineSlot >= 0 && drive.engineSlot < size && drives[drive.engineSlot] == drive) {
+                    removeAt(drive.engineSlot);
+                }
+            }
+            Runnable visit;
+            while ((visit = pendingVisits.poll()) != null) {
+                visit.run();
+            }
+        }
+
+        private <T> CompletableFuture<T> visit(Supplier<? extends DriveVisitor<T>> visitors) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            pendingVisits.add(() -> {
+                try {
+                    DriveVisitor<T> visitor = visitors.get();
+                    for (int i = 0; i < size; i++) {
+                        if (!drives[i].isStopped()) {
+                            visitor.visit(drives[i]);
+                        }
+                    }
+                    result.complete(visitor.result());
+                } catch (Exception e) {
+                    result.completeExceptionally(e);
+                }
+            });
+            return result;
+        }
+
+        private void removeAt(int slot) {
+            int last = size - 1;
+            drives[slot].engineSlot = -1;
+            if (slot != last) {
+                drives[slot] = drives[last];
+                drives[slot].engineSlot = slot;
+            }
+            drives[last] = null;
+            size = last;
+        }
+
+        private void record(long lag, long elapsed, int ticked) {
+            meters.lag().record(Math.max(0, lag), TimeUnit.NANOSECONDS);
+            meters.duration().record(elapsed, TimeUnit.NANOSECONDS);
+            meters.points().increment(ticked);
+            ticks++;
+            lastLagNanos = lag;
+            lastTickNanos = elapsed;
+            if (lag > maxLagNanos) {
+                maxLagNanos = lag;
+            }
+            if (elapsed > maxTickNanos) {
+                maxTickNanos = elapsed;
+            }
+        }
+
+        private TickStatsDto snapshot() {
+            long wallMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - firstDeadline);
+            double effectiveSpeed = wallMillis > 0 ? (double) ticks * clock.tickPeriodMillis() / wallMillis : 0;
+            return TickStatsDto.builder()
+                    .shard(index)
+                    .activeDrives(size)
+                    .ticks(ticks)
+                    .overruns(overruns)
+                    .lastLagMicros(TimeUnit.NANOSECONDS.toMicros(lastLagNanos))
+                    .maxLagMicros(TimeUnit.NANOSECONDS.toMicros(maxLagNanos))
+                    .lastTickMicros(TimeUnit.NANOSECONDS.toMicros(lastTickNanos))
+                    .maxTickMicros(TimeUnit.NANOSECONDS.toMicros(maxTickNanos))
+                    .skippedTicks(skippedTicks)
+                    .simulatedEpochSecond(clock.epochSecond(Math.max(0, tickIndex - 1)))
+                    .requestedSpeed(clock.speed())
+                    .effectiveSpeed(Math.round(effectiveSpeed * 100) / 100.0)
+                    .build();
+        }
+    }
+}
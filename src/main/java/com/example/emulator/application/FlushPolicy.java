@@ -0,0 +1,24 @@
+package com.example.emulator.application;
+
+import lombok.Getter;
+
+/**
+ * 차량 버퍼를 언제 전송할지 정한다. 포인트 수가 batchSize에 도달하거나
+ * 가장 오래된 포인트가 maxLatencySeconds 이상 기다렸으면 전송한다.
+ */
+@Getter
+public final class FlushPolicy {
+
+    private final int batchSize;
+    private final long maxLatencySeconds;
+
+    public FlushPolicy(int batchSize, long maxLatencySeconds) {
+        this.batchSize = Math.max(1, batchSize);
+        this.maxLatencySeconds = Math.max(1, maxLatencySeconds);
+    }
+
+    boolean shouldFlush(GpxPointBuffer buffer, long epochSecond) {
+        return buffer.size() >= batchSize
+                || (!buffer.isEmpty() && epochSecond - buffer.epochSecond(0) >= maxLatencySeconds);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.emulator.application;
+
+import com.example.emulator.config.CollectorProperties;
+import com.example.emulator.infrastructure.log.GpxPayloadEncoder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 여러 차량의 배치를 envelope 하나로 묶는다. 차량번호 해시로 레인을 고르고 레인마다 스레드 하나가
+ * 큐 순서대로 직렬화/묶음/전송을 하므로 같은 차량의 배치 순서가 유지된다.
+ * envelope는 배치 수, 압축 전 바이트 수, 첫 배치 이후 경과 시간 중 하나라도 한도에 닿으면 전송된다.
+ */
+@Slf4j
+class GpxBatchAggregator {
+
+    private final CollectorProperties.Aggregation config;
+    private final GpxPayloadEncoder gpxPayloadEncoder;
+    private final Consumer<List<byte[]>> envelopeSender;
+    private final Lane[] lanes;
+
+    GpxBatchAggregator(CollectorProperties.Aggregation config, GpxPayloadEncoder gpxPayloadEncoder,
+                       Consumer<List<byte[]>> envelopeSender) {
+        this.config = config;
+        this.gpxPayloadEncoder = gpxPayloadEncoder;
+        this.envelopeSender = envelopeSender;
+        this.lanes = new Lane[Math.max(1, config.getLanes())];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane(i);
+        }
+    }
+
+    void start() {
+        for (Lane lane : lanes) {
+            lane.thread.start();
+        }
+    }
+
+    // 남은 배치를 모두 보낸 뒤 종료
+    void stop() {
+        for (Lane lane : lanes) {
+            lane.running = false;
+        }
+        for (Lane lane : lanes) {
+            try {
+                lane.thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * tick 스레드에서 호출된다. 블로킹하지 않으며 큐가 가득 차면 false.
+     * release는 배치가 직렬화된 뒤(또는 버려질 때) 호출된다.
+     */
+    boolean offer(String carNumber, String loginId, GpxPointBuffer batch, Runnable release) {
+        Lane lane = lanes[Math.floorMod(carNumber.hashCode(), lanes.length)];
+        return lane.queue.offer(new PendingBatch(carNumber, loginId, batch, release));
+    }
+
+    // 모든 레인에서 직렬화를 기다리는 배치 수
+    int queued() {
+        int total = 0;
+        for (Lane lane : lanes) {
+            total += lane.queue.size();
+        }
+        return total;
+    }
+
+    // 해당 차량 레인에서 가장 오래 기다린 배치를 버린다
+    boolean shedOldest(String carNumber) {
+        Lane lane = lanes[Math.floorMod(carNumber.hashCode(), lanes.length)];
+        PendingBatch oldest = lane.queue.poll();
+        if (oldest == null) {
+            return false;
+        }
+        oldest.release().run();
+        log.error("집계 큐가 가득 차 가장 오래된 배치를 버립니다: {}", oldest.carNumber());
+        return true;
+    }
+
+    private record PendingBatch(String carNumber, String loginId, GpxPointBuffer batch, Runnable release) {
+    }
+
+    private final class Lane implements Runnable {
+
+        private final BlockingQueue<PendingBatch> queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        private List<byte[]> pending = new ArrayList<>();
+        private int pendingBytes;
+        private long deadlineNanos;
+
+        private Lane(int index) {
+            this.thread = new Thread(this, "gpxAggregate-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(config.getMaxDelayMillis());
+            while (running || !queue.isEmpty()) {
+                PendingBatch next;
+                try {
+                    long waitNanos = pending.isEmpty()
+                            ? TimeUnit.MILLISECONDS.toNanos(100)
+                            : Math.max(0, deadlineNanos - System.nanoTime());
+                    next = queue.poll(waitNanos, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+
+                if (next != null) {
+                    byte[] encoded;
+                    try {
+                        encoded = gpxPayloadEncoder.encodeBatch(next.carNumber(), next.loginId(), next.batch());
+                    } catch (Exception e) {
+                        log.error("GPX 배치 직렬화 실패: {}", next.carNumber(), e);
+                        continue;
+                    } finally {
+                        next.release().run();
+                    }
+                    if (!pending.isEmpty() && pendingBytes + encoded.length > config.getMaxBytes()) {
+                        send();
+                    }
+                    if (pending.isEmpty()) {
+                        deadlineNanos = System.nanoTime() + maxDelayNanos;
+                    }
+                    pending.add(encoded);
+                    pendingBytes += encoded.length;
+                }
+
+                if (!pending.isEmpty() && (pending.size() >= config.getMaxBatches()
+                        || pendingBytes >= config.getMaxBytes()
+                        || System.nanoTime() >= deadlineNanos)) {
+                    send();
+                }
+            }
+            if (!pending.isEmpty()) {
+                send();
+            }
+        }
+
+        private void send() {
+            List<byte[]> envelope = pending;
+            pending = new ArrayList<>(envelope.size());
+            pendingBytes = 0;
+            try {
+                envelopeSender.accept(envelope);
+            } catch (Exception e) {
+                log.error("Collector envelope 전송 실패 ({} batches)", envelope.size(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.emulator.application;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Collector로 보내는 좌표/시각 문자열 변환.
+ * tick 에서는 정수(1e-4도, epoch 초)로만 보관하고 문자열은 전송 시점에만 만든다.
+ */
+public final class GpxFormats {
+
+    public static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    // 같은 초의 포인트가 많으므로 마지막으로 만든 문자열을 재사용한다
+    private static volatile CachedTimestamp lastTimestamp = new CachedTimestamp(Long.MIN_VALUE, null);
+
+    private GpxFormats() {
+    }
+
+    // 좌표를 소수점 4자리 고정소수점 정수로 변환 ("%.4f" 와 같이 0에서 먼 쪽으로 반올림)
+    public static int toE4(double degrees) {
+        int rounded = (int) Math.round(Math.abs(degrees) * 10_000);
+        return degrees < 0 ? -rounded : rounded;
+    }
+
+    // 고정소수점 정수를 "%.4f" 와 같은 형태의 문자열로 변환
+    public static String formatCoordinate(int e4) {
+        char[] chars = new char[14];
+        int pos = chars.length;
+        long abs = Math.abs((long) e4);
+
+        long fraction = abs % 10_000;
+        for (int k = 0; k < 4; k++) {
+            chars[--pos] = (char) ('0' + fraction % 10);
+            fraction /= 10;
+        }
+        chars[--pos] = '.';
+
+        long integer = abs / 10_000;
+        do {
+            chars[--pos] = (char) ('0' + integer % 10);
+            integer /= 10;
+        } while (integer != 0);
+
+        if (e4 < 0) {
+            chars[--pos] = '-';
+        }
+        return new String(chars, pos, chars.length - pos);
+    }
+
+    // km/h × 10 정수를 "%.1f" 형태로 변환 (속도는 음수가 없다)
+    public static String formatSpeed(int speedE1) {
+        return (speedE1 / 10) + "." + (speedE1 % 10);
+    }
+
+    public static String formatTimestamp(long epochSecond) {
+        CachedTimestamp cached = lastTimestamp;
+        if (cached.epochSecond == epochSecond) {
+            return cached.formatted;
+        }
+        String formatted = LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZONE).format(TIMESTAMP_FORMATTER);
+        lastTimestamp = new CachedTimestamp(epochSecond, formatted);
+        return formatted;
+    }
+
+    private record CachedTimestamp(long epochSecond, String formatted) {
+    }
+}
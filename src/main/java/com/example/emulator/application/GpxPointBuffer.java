@@ -0,0 +1,124 @@
+package com.example.emulator.application;
+
+import com.example.emulator.application.dto.GpxLogDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 차량별 미전송 포인트 버퍼. 포인트마다 객체를 만들지 않고 primitive 배열에 누적하며,
+ * {@link GpxLogDto}는 전송 시점에 {@link #toLogList()}로 만든다.
+ * 포인트 하나에 12바이트: 시각은 첫 포인트 기준 초 단위 오프셋(int), 위도·경도는 한 배열에 번갈아 넣는다.
+ * 속도·방향은 주행 모델을 쓰는 차량만 int 하나로 묶어 채우며, 배열도 그때 처음 만든다.
+ */
+public final class GpxPointBuffer {
+
+    private static final int HEADING_BITS = 9; // 0~359도
+
+    private long baseEpochSecond;
+    private int[] timeOffsets; // baseEpochSecond 기준 초
+    private int[] coordinatesE4; // [위도, 경도, 위도, 경도, ...]
+    private int[] motions; // (km/h × 10) << HEADING_BITS | 방향(도)
+    private boolean motion;
+    private int size;
+
+    public GpxPointBuffer(int capacity) {
+        this.timeOffsets = new int[capacity];
+        this.coordinatesE4 = new int[capacity * 2];
+    }
+
+    public void add(long epochSecond, int latitudeE4, int longitudeE4) {
+        if (size == timeOffsets.length) {
+            grow();
+        }
+        if (size == 0) {
+            baseEpochSecond = epochSecond;
+        }
+        timeOffsets[size] = Math.toIntExact(epochSecond - baseEpochSecond);
+        coordinatesE4[size * 2] = latitudeE4;
+        coordinatesE4[size * 2 + 1] = longitudeE4;
+        size++;
+    }
+
+    public void add(long epochSecond, int latitudeE4, int longitudeE4, int speedE1, int heading) {
+        if (motions == null || motions.length < timeOffsets.length) {
+            motions = motions == null ? new int[timeOffsets.length] : Arrays.copyOf(motions, timeOffsets.length);
+        }
+        if (size == timeOffsets.length) {
+            grow();
+        }
+        motion = true;
+        motions[size] = speedE1 << HEADING_BITS | Math.floorMod(heading, 360);
+        add(epochSecond, latitudeE4, longitudeE4);
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, size * 2);
+        timeOffsets = Arrays.copyOf(timeOffsets, capacity);
+        coordinatesE4 = Arrays.copyOf(coordinatesE4, capacity * 2);
+        if (motions != null) {
+            motions = Arrays.copyOf(motions, capacity);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+        motion = false;
+    }
+
+    // 포인트에 속도·방향이 있는지
+    public boolean hasMotion() {
+        return motion;
+    }
+
+    public long epochSecond(int index) {
+        return baseEpochSecond + timeOffsets[index];
+    }
+
+    public int latitudeE4(int index) {
+        return coordinatesE4[index * 2];
+    }
+
+    public int longitudeE4(int index) {
+        return coordinatesE4[index * 2 + 1];
+    }
+
+    public int speedE1(int index) {
+        return motions[index] >>> HEADING_BITS;
+    }
+
+    public int heading(int index) {
+        return motions[index] & ((1 << HEADING_BITS) - 1);
+    }
+
+    public String startTime() {
+        return GpxFormats.formatTimestamp(baseEpochSecond);
+    }
+
+    public String endTime() {
+        return GpxFormats.formatTimestamp(epochSecond(size - 1));
+    }
+
+    public List<GpxLogDto> toLogList() {
+        List<GpxLogDto> logList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            logList.add(GpxLogDto.builder()
+                    .timestamp(GpxFormats.formatTimestamp(epochSecond(i)))
+                    .latitude(GpxFormats.formatCoordinate(latitudeE4(i)))
+                    .longitude(GpxFormats.formatCoordinate(longitudeE4(i)))
+                    .speed(motion ? GpxFormats.formatSpeed(speedE1(i)) : null)
+                    .heading(motion ? Integer.toString(heading(i)) : null)
+                    .build());
+        }
+        return logList;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.emulator.application;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * 전송이 끝난 {@link GpxPointBuffer}를 차량 구분 없이 모아 두었다가 다음 flush에 내준다.
+ * 차량마다 예비 버퍼를 들고 있지 않으므로 예비 버퍼 수는 차량 수가 아니라 동시에 전송 중인 배치 수를 따른다.
+ * 풀이 가득 차면 돌려받은 버퍼는 버린다.
+ */
+final class GpxPointBufferPool {
+
+    private final ArrayBlockingQueue<GpxPointBuffer> buffers;
+
+    GpxPointBufferPool(int maxPooled) {
+        this.buffers = new ArrayBlockingQueue<>(maxPooled);
+    }
+
+    // 풀에 남은 버퍼가 없으면 capacity로 새로 만든다 (풀의 버퍼는 부족하면 add에서 늘어난다)
+    GpxPointBuffer acquire(int capacity) {
+        GpxPointBuffer buffer = buffers.poll();
+        return buffer != null ? buffer : new GpxPointBuffer(capacity);
+    }
+
+    void release(GpxPointBuffer buffer) {
+        buffer.clear();
+        buffers.offer(buffer);
+    }
+
+    int pooled() {
+        return buffers.size();
+    }
+}
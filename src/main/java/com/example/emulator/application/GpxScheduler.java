@@ -1,208 +1,212 @@
 package com.example.emulator.application;
 
-import com.example.emulator.application.dto.GpxLogDto;
-import com.example.emulator.application.dto.GpxRequestDto;
-import com.example.emulator.car.CarStatus;
-import com.example.emulator.car.domain.CarEntity;
-import com.example.emulator.infrastructure.car.CarRepository;
+import com.example.emulator.route.GpxRoute;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
-import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
-
-import java.io.File;
-import java.nio.file.Files;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.Random;
-import java.util.concurrent.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
+/**
+ * 차량 한 대의 GPX 재생 상태. 자체 타이머를 갖지 않고 {@link FleetTickEngine}의
+ * tick 스레드가 매 주기마다 {@link #tick(long)}을 호출한다.
+ * 주행 모델({@link MotionModel})이 있으면 포인트를 하나씩 넘기지 않고 달린 거리만큼 보간한 위치와 속도·방향을 보낸다.
+ * 차량 수만큼 만들어지므로 공유 객체(경로, 전송 기준, 버퍼 풀) 참조와 재생 위치, 미전송 포인트 버퍼 하나만 갖는다.
+ */
 @Getter
 @Slf4j
 public class GpxScheduler{
 
-    private final RestTemplate restTemplate;// api 호출을 위함
-    private final ScheduledExecutorService scheduler;
-    private final CarRepository carRepository;
-    private final updateCarStatusService updateCarStatusService;
+    private static final long UNSET = Long.MIN_VALUE;
 
-    @Setter
-    private ScheduledFuture<?> scheduledTask;
+    // 버퍼 초기 크기 상한 (batchSize가 더 크면 채우면서 늘어난다)
+    private static final int BUFFER_CAPACITY = 64;
+    // 포인트 디버그 로그는 차량별로 이 주기(초)마다 한 번만 남긴다 (차량마다 시각을 어긋나게)
+    private static final int POINT_LOG_SAMPLE_SECONDS = 60;
 
-    private List<String> gpxFile = new ArrayList<>(); // Gpx 파일을 읽어와 저장해두는 리스트
-    private List<GpxLogDto> buffer = new ArrayList<>(); // 전송될 GPX 정보들을 저장해두는 리스트
-    private int currentIndex = 0; // 읽어야 할 line 번호
+    private final LocationSink locationSink;
+    private final FleetTickEngine fleetTickEngine;
+
+    private GpxRoute route; // 카탈로그에서 공유받은 경로 (차량마다 복사하지 않음)
+    private FlushPolicy flushPolicy;
+    private GpxPointBuffer buffer; // 전송될 GPX 정보들을 저장해두는 버퍼
+    private int currentIndex = 0; // 읽어야 할 포인트 번호
     private int endIndex = 0; // 해당 인덱스까지 읽기
+    private MotionModel motion; // 주행 모델을 쓰지 않으면 null
+
+    // 운행 기준 시뮬레이션 시계: 첫 tick의 시작 시각과 지금까지 받은 tick 수 (shard의 tick 번호와 무관)
+    private long clockOriginMillis = UNSET;
+    private long clockTicks;
 
     private String carNumber;
     private String loginId;
-    private String startTime;
-    private String endTime;
-
-    public GpxScheduler(RestTemplate restTemplate, ScheduledExecutorService scheduler, CarRepository carRepository, updateCarStatusService updateCarStatusService) {
-        this.restTemplate = restTemplate;
-        this.scheduler = scheduler;
-        this.carRepository = carRepository;
-        this.updateCarStatusService = updateCarStatusService;
-    }
-
-    // init method:  랜덤한 GPX 파일 로드 후 메모리(gpxFile)에 로드
-    public void init(String carNumber, String loginId) {
-        this.carNumber = carNumber;
-        this.loginId = loginId;
-        try {
 
-            // classpath 내 /gpx 폴더 경로 가져오기
-            var resourceUrl = getClass().getClassLoader().getResource("gpx");
-            if (resourceUrl == null) {
-                log.error("gpx 폴더를 찾을 수 없습니다.");
-                return;
-            }
-
-            File dir = new File(resourceUrl.toURI());
-            File[] files = dir.listFiles();
-            if (files == null || files.length == 0) {
-                log.error("gpx 폴더 내에 파일이 없습니다.");
-                return;
-            }
+    // FleetTickEngine 내부 배열에서의 위치 (tick 스레드만 접근)
+    int engineSlot = -1;
+    private volatile boolean stopped;
 
-            // 랜덤 파일 선택
-            File randomFile = files[new Random().nextInt(files.length)];
-            log.info("선택된 GPX 파일: {}", randomFile.getName());
+    public GpxScheduler(LocationSink locationSink, FleetTickEngine fleetTickEngine) {
+        this.locationSink = locationSink;
+        this.fleetTickEngine = fleetTickEngine;
+    }
 
-            // 파일을 한 줄씩 읽어 gpxFile 리스트에 저장 - 위/경도 정보만 필터링
-            gpxFile = Files.readAllLines(randomFile.toPath()).stream()
-                    .filter(line -> line.trim().startsWith("<trkpt"))
-                    .collect(Collectors.toList());
+    // init method: 선택된 경로와 시작 위치로 재생을 시작한다 (motionProfile이 null이면 포인트 단위 재생)
+    public void init(String carNumber, String loginId, RouteSelector.RouteSelection selection, FlushPolicy flushPolicy,
+                     MotionProfile motionProfile) {
+        log.info("선택된 GPX 파일: {} (시작 위치 {})", selection.route().getName(), selection.startIndex());
+        prepare(carNumber, loginId, selection.route(), selection.startIndex(), flushPolicy);
+        enableMotion(motionProfile);
+        try{
+            startScheduler();
+        }catch (Exception e){
+            log.info("scheduler가 실행되지 않았습니다.");
+        }
+    }
 
-            buffer.clear();
+    // 재생할 경로와 시작 위치, 전송 기준 지정
+    void prepare(String carNumber, String loginId, GpxRoute route, int startIndex, FlushPolicy flushPolicy) {
+        this.flushPolicy = flushPolicy;
+        this.carNumber = carNumber;
+        this.loginId = loginId;
+        this.route = route;
+        if (buffer == null) {
+            buffer = new GpxPointBuffer(Math.min(flushPolicy.getBatchSize(), BUFFER_CAPACITY));
+        }
+        this.buffer.clear();
+        this.currentIndex = startIndex;
+        this.endIndex = route.size();
+        this.motion = null;
+        this.clockOriginMillis = UNSET;
+        this.clockTicks = 0;
+    }
 
-            currentIndex= ThreadLocalRandom.current().nextInt(gpxFile.size()-300);
-            endIndex= gpxFile.size();
+    // 현재 재생 위치부터 주행 모델로 재생한다 (profile이 null이면 포인트 단위 재생)
+    void enableMotion(MotionProfile profile) {
+        this.motion = profile != null ? new MotionModel(profile, route, currentIndex, endIndex) : null;
+    }
 
-            try{
-                startScheduler();
-            }catch (Exception e){
-                log.info("scheduler가 실행되지 않았습니다.");
+    // 체크포인트의 재생 위치와 미전송 포인트로 상태를 되살린다
+    // 주행 모델 상태가 없던 운행도 motionProfile이 있으면 저장된 포인트 위치부터 주행 모델로 이어간다
+    void restore(DriveSnapshot snapshot, GpxRoute route, MotionProfile motionProfile) {
+        prepare(snapshot.carNumber(), snapshot.loginId(), route, snapshot.currentIndex(),
+                new FlushPolicy(snapshot.batchSize(), snapshot.maxLatencySeconds()));
+        this.endIndex = snapshot.endIndex();
+        enableMotion(motionProfile);
+        if (snapshot.clockOriginMillis() != UNSET) {
+            this.clockOriginMillis = snapshot.clockOriginMillis();
+            this.clockTicks = snapshot.clockTicks();
+        }
+        if (motion != null && snapshot.motion() != null) {
+            motion.restore(snapshot.motion());
+        }
+        for (int i = 0; i < snapshot.epochSeconds().length; i++) {
+            if (snapshot.speedsE1() != null) {
+                buffer.add(snapshot.epochSeconds()[i], snapshot.latitudesE4()[i], snapshot.longitudesE4()[i],
+                        snapshot.speedsE1()[i], snapshot.headings()[i]);
+            } else {
+                buffer.add(snapshot.epochSeconds()[i], snapshot.latitudesE4()[i], snapshot.longitudesE4()[i]);
             }
-        } catch (Exception e) {
-            log.error("GPX 파일 로드 중 오류 발생", e);
         }
     }
 
-    // 스케줄러 시작 메서드
+    // 스케줄러 시작 메서드: tick 엔진에 등록
     public void startScheduler() {
-        Runnable task = () -> {
-            try {
-                if (carNumber == null) {
-                    log.error("********* 차량 정보 없음 **********");
-                    if(scheduledTask != null){
-                        scheduledTask.cancel(true);
-                    }
-                    return;
-                }
-                if (currentIndex < endIndex) {
-                    // 위도 경도 추출을 위한 정규표현식
-                    Pattern pattern = Pattern.compile("lat=\"(.*?)\"\\s+lon=\"(.*?)\"");
-                    Matcher matcher = pattern.matcher(gpxFile.get(currentIndex));
-
-                    if (matcher.find()) {
-                        // Gpx라인을 Dto로 가공하여 리스트에 삽입
-                        String timestamp = LocalDateTime.now()
-                                .format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss"));
-
-                        String latitude = String.format("%.4f", Double.parseDouble(matcher.group(1)));
-                        String longitude = String.format("%.4f", Double.parseDouble(matcher.group(2)));
-
-                        GpxLogDto dto = GpxLogDto.builder()
-                                    .timestamp(timestamp)
-                                    .latitude(latitude)
-                                    .longitude(longitude)
-                                    .build();
-                        log.info("carNumber: {} latitude: {}, longitude:{} ", carNumber,latitude, longitude);
-
-                        buffer.add(dto);
-                    }
-
-                    if (currentIndex % 60 == 0 && currentIndex != 0) {
-                        sendGpxData();
-                    }
-
-                    currentIndex++;
-                } else {
-                    if (!buffer.isEmpty()) {
-                        sendGpxData();  // 버퍼에 남은 데이터 전송
-                    }
-                    if(scheduledTask != null){
-                        scheduledTask.cancel(true);
-                    }
-//                    scheduler.shutdown(); // 조건 종료 시 스케줄러 중단
-                    log.info("*********** GPX 파일 전송 완료 ***********");
-                }
-            } catch (Exception e) {
-                log.error("GPX 재생 중 오류 발생", e);
-            }
-        };
-
-        this.scheduledTask = scheduler.scheduleAtFixedRate(task, 0, 1, TimeUnit.SECONDS);
+        fleetTickEngine.register(this);
     }
 
-    // 스케줄러 종료 메서드
-    public void stopScheduler() {
-
-
-           if(this.scheduledTask != null && !this.scheduledTask.isCancelled()) {
-               this.scheduledTask.cancel(true);
-               log.info("스케줄러 강제 종료");
-           }else{
-               log.info("스케줄러가 이미 종료");
-           }
-
+    // 이번 tick의 시뮬레이션 시각. 첫 tick에서 운행 시계를 시작한다 (tick 스레드에서만 호출)
+    long nextEpochSecond(FleetTickEngine.SimulationClock clock) {
+        if (clockOriginMillis == UNSET) {
+            clockOriginMillis = clock.driveOriginMillis();
+        }
+        return clock.epochSecond(clockOriginMillis, clockTicks++);
     }
 
-    protected void sendGpxData() {
-        startTime = buffer.get(0).getTimestamp();
-        endTime = buffer.get(buffer.size() - 1).getTimestamp();
+    /**
+     * tick 스레드에서 한 주기마다 호출된다.
+     *
+     * @return 계속 재생해야 하면 true, 경로 끝에 도달했거나 차량 정보가 없으면 false
+     */
+    boolean tick(long epochSecond) {
+        if (carNumber == null) {
+            log.error("********* 차량 정보 없음 **********");
+            return false;
+        }
+        if (motion != null) {
+            return tickMotion(epochSecond);
+        }
+        if (currentIndex < endIndex) {
+            // Gpx 포인트를 고정소수점 정수로 버퍼에 삽입 (문자열 변환은 전송 시점에)
+            int latitude = GpxFormats.toE4(route.latitude(currentIndex));
+            int longitude = GpxFormats.toE4(route.longitude(currentIndex));
+            buffer.add(epochSecond, latitude, longitude);
 
+            logPoint(epochSecond, latitude, longitude);
 
+            if (flushPolicy.shouldFlush(buffer, epochSecond)) {
+                flush();
+            }
+
+            currentIndex++;
+            return true;
+        }
 
-        GpxRequestDto logJson = GpxRequestDto.builder()
-                .carNumber(carNumber)
-                .loginId(loginId)
-                .startTime(startTime)
-                .endTime(endTime)
-                .logList(buffer)
-                .build(); // buffer 내부 로그들 Json화
+        if (!buffer.isEmpty()) {
+            flush();  // 버퍼에 남은 데이터 전송
+        }
+        log.info("*********** GPX 파일 전송 완료 ***********");
+        return false;
+    }
 
-        String collectorUrl = "http://43.203.110.104:8080/api/logs/gps";
+    // 주행 모델로 한 tick만큼 달린 위치를 버퍼에 넣는다. 정차 중에도 같은 위치를 속도 0으로 보낸다
+    private boolean tickMotion(long epochSecond) {
+        boolean moving = motion.advance();
+        currentIndex = motion.segment();
+        int latitude = GpxFormats.toE4(motion.latitude());
+        int longitude = GpxFormats.toE4(motion.longitude());
+        buffer.add(epochSecond, latitude, longitude, motion.speedKmhE1(), motion.headingDegrees());
+        logPoint(epochSecond, latitude, longitude);
+
+        if (!moving) {
+            flush();
+            log.info("*********** GPX 파일 전송 완료 ***********");
+            return false;
+        }
+        if (flushPolicy.shouldFlush(buffer, epochSecond)) {
+            flush();
+        }
+        return true;
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+    private void logPoint(long epochSecond, int latitude, int longitude) {
+        if (log.isDebugEnabled() && Math.floorMod(epochSecond + carNumber.hashCode(), POINT_LOG_SAMPLE_SECONDS) == 0) {
+            log.debug("carNumber: {} latitude: {}, longitude:{} ", carNumber,
+                    GpxFormats.formatCoordinate(latitude), GpxFormats.formatCoordinate(longitude));
+        }
+    }
 
-        HttpEntity<GpxRequestDto> request = new HttpEntity<>(logJson, headers);
+    // 버퍼를 풀의 버퍼로 교체하고 전송은 I/O 단계로 넘긴다 (tick 스레드는 블로킹하지 않음)
+    private void flush() {
+        GpxPointBuffer batch = buffer;
+        GpxPointBufferPool pool = fleetTickEngine.bufferPool();
+        buffer = pool.acquire(Math.min(flushPolicy.getBatchSize(), BUFFER_CAPACITY));
+        sendGpxData(batch, () -> pool.release(batch));
+    }
 
-        try {
-            ResponseEntity<String> response = restTemplate.postForEntity(collectorUrl, request, String.class);
-            log.info("Collector 응답 상태: {}", response.getStatusCode());
-            log.info("Collector 응답 바디: {}", response.getBody());
-        } catch (HttpStatusCodeException e) {
-            log.error("Collector 서버 오류: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
-        } catch (Exception e) {
-            log.error("Collector API 호출 실패", e);
+    // 스케줄러 종료 메서드
+    public void stopScheduler() {
+        if (!stopped) {
+            stopped = true;
+            // init 전에 중지되면(맵에 넣은 직후 OFF) 등록 요청은 엔진이 stopped를 보고 버린다
+            if (carNumber != null) {
+                fleetTickEngine.unregister(this);
+            }
+            log.info("스케줄러 강제 종료");
+        } else {
+            log.info("스케줄러가 이미 종료");
         }
-        buffer.clear();
+    }
+
+    // release: 전송 단계가 batch를 다 읽은 뒤 호출해 버퍼를 돌려받는다
+    protected void sendGpxData(GpxPointBuffer batch, Runnable release) {
+        locationSink.submit(carNumber, loginId, batch, release);
     }
 
 }
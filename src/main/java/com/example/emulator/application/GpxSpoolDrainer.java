@@ -0,0 +1,153 @@
+package com.example.emulator.application;
+
+import com.example.emulator.application.dto.SpoolStatsDto;
+import com.example.emulator.config.SpoolProperties;
+import com.example.emulator.infrastructure.log.CollectorClient;
+import com.example.emulator.infrastructure.log.GpxSpool;
+import com.example.emulator.infrastructure.log.SpooledBatch;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 스풀에 쌓인 배치를 들어온 순서대로 하나씩 collector에 다시 보낸다.
+ * 초당 요청 수를 제한해 복구 직후의 collector에 몰아 보내지 않고, 실패하면 같은 배치를
+ * 지터를 섞은 지수 백오프로 재시도한다. collector 차단기가 열려 있는 동안은 요청 없이 대기한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GpxSpoolDrainer {
+
+    private static final long IDLE_WAIT_MILLIS = 200;
+
+    private final GpxSpool gpxSpool;
+    private final CollectorClient collectorClient;
+    private final SpoolProperties spoolProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+
+    private Thread thread;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!spoolProperties.isEnabled()) {
+            return;
+        }
+        Gauge.builder("emulator.spool.pending", gpxSpool, GpxSpool::getPendingRecords)
+                .description("스풀에서 재전송을 기다리는 배치 수").register(meterRegistry);
+        Gauge.builder("emulator.spool.pending.bytes", gpxSpool, GpxSpool::getPendingBytes)
+                .baseUnit("bytes").register(meterRegistry);
+        FunctionCounter.builder("emulator.spool.replayed", replayed, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("emulator.spool.dropped", dropped, AtomicLong::get).register(meterRegistry);
+        running = true;
+        thread = new Thread(this::drain, "gpxSpoolDrain");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        thread.interrupt();
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    public SpoolStatsDto getStats() {
+        long oldest = gpxSpool.getOldestEnqueuedAtMillis();
+        return SpoolStatsDto.builder()
+                .enabled(gpxSpool.isEnabled())
+                .pendingBatches(gpxSpool.getPendingRecords())
+                .pendingBytes(gpxSpool.getPendingBytes())
+                .segments(gpxSpool.getSegmentCount())
+                .oldestAgeMillis(oldest > 0 ? System.currentTimeMillis() - oldest : 0)
+                .replayed(replayed.get())
+                .dropped(dropped.get())
+                .retries(retries.get())
+                .build();
+    }
+
+    private void drain() {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, spoolProperties.getDrainRatePerSecond());
+        long nextSendNanos = System.nanoTime();
+        long nextForceMillis = System.currentTimeMillis();
+        int failures = 0;
+
+        while (running) {
+            try {
+                if (System.currentTimeMillis() >= nextForceMillis) {
+                    gpxSpool.force();
+                    nextForceMillis = System.currentTimeMillis() + spoolProperties.getForceIntervalMillis();
+                }
+
+                SpooledBatch batch = gpxSpool.peek();
+                if (batch == null) {
+                    Thread.sleep(IDLE_WAIT_MILLIS);
+                    continue;
+                }
+
+                long waitNanos = nextSendNanos - System.nanoTime();
+                if (waitNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                }
+                nextSendNanos = Math.max(nextSendNanos, System.nanoTime() - intervalNanos) + intervalNanos;
+
+                if (replay(batch)) {
+                    gpxSpool.commit(batch);
+                    failures = 0;
+                } else {
+                    retries.incrementAndGet();
+                    Thread.sleep(JitteredBackoff.delayMillis(failures++,
+                            spoolProperties.getRetryInitialMillis(), spoolProperties.getRetryMaxMillis()));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("GPX 스풀 재전송 중 오류", e);
+            }
+        }
+    }
+
+    // true: 스풀에서 제거해도 되는 경우 (성공 또는 재시도해도 소용없는 응답)
+    private boolean replay(SpooledBatch batch) throws InterruptedException {
+        HttpResponse<String> response;
+        try {
+            response = collectorClient.post(batch.path(), batch.payload()).get();
+        } catch (ExecutionException e) {
+            if (!CollectorClient.isShed(e.getCause())) {
+                log.warn("GPX 스풀 재전송 실패, 재시도합니다: {}", e.getCause().toString());
+            }
+            return false;
+        }
+        int status = response.statusCode();
+        if (CollectorClient.isRetriable(status)) {
+            log.warn("GPX 스풀 재전송 실패 ({}), 재시도합니다", status);
+            return false;
+        }
+        if (status >= 400) {
+            dropped.incrementAndGet();
+            log.error("collector가 스풀 배치를 거부해 버립니다: {} - {}", status, response.body());
+        } else {
+            replayed.incrementAndGet();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,346 @@
+package com.example.emulator.application;
+
+import com.example.emulator.application.dto.UploadStatsDto;
+import com.example.emulator.config.CollectorProperties;
+import com.example.emulator.infrastructure.log.CollectorClient;
+import com.example.emulator.infrastructure.log.GpxPayload;
+import com.example.emulator.infrastructure.log.GpxPayloadEncoder;
+import com.example.emulator.infrastructure.log.GpxSpool;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 차량 배치를 collector로 전송한다. 배치 기준({@link FlushPolicy}), 본문 형식, 압축은
+ * emulator.collector.* 설정을 따르며 차량별로 배치 기준을 덮어쓸 수 있다.
+ * 집계 모드(emulator.collector.aggregation.enabled)에서는 여러 차량의 배치를 envelope로 묶어 보낸다.
+ * 직렬화는 전송 스레드에서 하고, HTTP 요청은 {@link CollectorClient}로 비동기 전송해 응답을 기다리지 않는다.
+ * 재시도 가능한 실패는 지터를 섞은 백오프로 몇 번 더 보내 보고, 그래도 실패했거나 collector가 밀려
+ * (진행 중 요청 상한, 차단기 OPEN) 보낼 수 없는 배치는 {@link GpxSpool}에 보관해 {@link GpxSpoolDrainer}가 나중에 보낸다.
+ * 어느 경우에도 tick 스레드는 collector 응답을 기다리지 않는다. 전송 큐가 가득 차 스풀로 넘길 배치(SPILL)도
+ * tick 스레드는 스풀 큐에 넣기만 하고, 직렬화와 스풀 쓰기는 스풀 스레드가 한다. 스풀 큐마저 가득 차면 버린다.
+ * 요청 지연은 결과(success, retriable, rejected, io_error)별 히스토그램으로, 배치 크기와 본문 크기는 분포로 기록한다.
+ */
+@Slf4j
+@Component
+public class GpxUploader {
+
+    // 스풀 스레드가 직렬화해 스풀에 쓸 배치 수 상한
+    private static final int SPILL_QUEUE_CAPACITY = 10_000;
+
+    private final CollectorClient collectorClient;
+    private final GpxPayloadEncoder gpxPayloadEncoder;
+    private final CollectorProperties collectorProperties;
+    private final GpxSpool gpxSpool;
+    private final Executor gpxFlushExecutor;
+    private final MeterRegistry meterRegistry;
+
+    private GpxBatchAggregator aggregator;
+
+    private final BlockingQueue<SpillTask> spillQueue = new ArrayBlockingQueue<>(SPILL_QUEUE_CAPACITY);
+    private Thread spillThread;
+    private volatile boolean running;
+
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong spooled = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final Timer uploadSuccess;
+    private final Timer uploadRejected;
+    private final Timer uploadRetriable;
+    private final Timer uploadIoError;
+    private final DistributionSummary batchPoints;
+    private final DistributionSummary envelopeBatches;
+    private final DistributionSummary payloadBytes;
+
+    public GpxUploader(CollectorClient collectorClient,
+                       GpxPayloadEncoder gpxPayloadEncoder,
+                       CollectorProperties collectorProperties,
+                       GpxSpool gpxSpool,
+                       @Qualifier("gpxFlushExecutor") Executor gpxFlushExecutor,
+                       MeterRegistry meterRegistry) {
+        this.collectorClient = collectorClient;
+        this.gpxPayloadEncoder = gpxPayloadEncoder;
+        this.collectorProperties = collectorProperties;
+        this.gpxSpool = gpxSpool;
+        this.gpxFlushExecutor = gpxFlushExecutor;
+        this.meterRegistry = meterRegistry;
+
+        this.uploadSuccess = uploadTimer(meterRegistry, "success");
+        this.uploadRejected = uploadTimer(meterRegistry, "rejected");
+        this.uploadRetriable = uploadTimer(meterRegistry, "retriable");
+        this.uploadIoError = uploadTimer(meterRegistry, "io_error");
+        this.batchPoints = DistributionSummary.builder("emulator.collector.batch.points")
+                .description("단독 전송 배치의 포인트 수").register(meterRegistry);
+        this.envelopeBatches = DistributionSummary.builder("emulator.collector.envelope.batches")
+                .description("집계 전송 한 건에 묶인 차량 배치 수").register(meterRegistry);
+        this.payloadBytes = DistributionSummary.builder("emulator.collector.payload.bytes").baseUnit("bytes")
+                .description("전송 본문 크기 (압축 후)").register(meterRegistry);
+        FunctionCounter.builder("emulator.collector.retried", retried, AtomicLong::get)
+                .description("재시도한 요청 수").register(meterRegistry);
+        FunctionCounter.builder("emulator.collector.spooled", spooled, AtomicLong::get)
+                .description("스풀로 넘긴 배치 수").register(meterRegistry);
+        FunctionCounter.builder("emulator.collector.dropped", dropped, AtomicLong::get)
+                .description("버린 배치 수").register(meterRegistry);
+    }
+
+    private static Timer uploadTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("emulator.collector.upload")
+                .description("collector 요청 지연")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        CollectorProperties.Aggregation aggregation = collectorProperties.getAggregation();
+        if (aggregation.isEnabled()) {
+            aggregator = new GpxBatchAggregator(aggregation, gpxPayloadEncoder, this::uploadEnvelope);
+            aggregator.start();
+            Gauge.builder("emulator.collector.aggregation.queued", aggregator, GpxBatchAggregator::queued)
+                    .description("집계 레인에서 직렬화를 기다리는 배치 수").register(meterRegistry);
+            log.info("Collector 집계 전송 사용: {} (레인 {}개)", aggregation.getPath(), aggregation.getLanes());
+        }
+        Gauge.builder("emulator.collector.spill.queued", spillQueue, BlockingQueue::size)
+                .description("스풀에 쓰기를 기다리는 배치 수").register(meterRegistry);
+        running = true;
+        spillThread = new Thread(this::spillLoop, "gpxSpill");
+        spillThread.setDaemon(true);
+        spillThread.start();
+    }
+
+    // 집계 레인을 먼저 멈추고(남은 배치가 스풀 큐로 넘어올 수 있음) 스풀 큐를 비운 뒤 종료
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (aggregator != null) {
+            aggregator.stop();
+        }
+        running = false;
+        spillThread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    public FlushPolicy defaultPolicy() {
+        return new FlushPolicy(collectorProperties.getBatchSize(), collectorProperties.getMaxLatencySeconds());
+    }
+
+    // 요청에 값이 없으면 전체 설정값을 사용
+    public FlushPolicy policyFor(Integer batchSize, Integer maxLatencySeconds) {
+        if (batchSize == null && maxLatencySeconds == null) {
+            return defaultPolicy();
+        }
+        return new FlushPolicy(
+                batchSize != null ? batchSize : collectorProperties.getBatchSize(),
+                maxLatencySeconds != null ? maxLatencySeconds : collectorProperties.getMaxLatencySeconds());
+    }
+
+    public UploadStatsDto getStats() {
+        return UploadStatsDto.builder()
+                .circuitState(collectorClient.getCircuitState().name())
+                .queueFullPolicy(collectorProperties.getQueueFullPolicy().name())
+                .retried(retried.get())
+                .spooled(spooled.get())
+                .dropped(dropped.get())
+                .build();
+    }
+
+    /**
+     * tick 스레드에서 넘겨받은 배치를 전송 단계로 보낸다. 호출 스레드를 블로킹하지 않으며,
+     * 전송 단계 큐가 가득 차면 emulator.collector.queue-full-policy에 따라 처리한다.
+     * release는 배치 버퍼를 더 이상 읽지 않게 된 시점에 호출된다.
+     */
+    public void submit(String carNumber, String loginId, GpxPointBuffer batch, Runnable release) {
+        CollectorProperties.QueueFullPolicy policy = collectorProperties.getQueueFullPolicy();
+        if (aggregator != null) {
+            if (aggregator.offer(carNumber, loginId, batch, release)) {
+                return;
+            }
+            if (policy == CollectorProperties.QueueFullPolicy.DROP_OLDEST && aggregator.shedOldest(carNumber)) {
+                dropped.incrementAndGet();
+                if (aggregator.offer(carNumber, loginId, batch, release)) {
+                    return;
+                }
+            }
+        } else {
+            Runnable task = () -> {
+                try {
+                    upload(carNumber, loginId, batch);
+                } finally {
+                    release.run();
+                }
+            };
+            if (tryExecute(task)) {
+                return;
+            }
+            if (policy == CollectorProperties.QueueFullPolicy.DROP_OLDEST && shedOldestTask() && tryExecute(task)) {
+                return;
+            }
+        }
+
+        // 스풀 큐에 넣기만 한다 (직렬화와 스풀 쓰기는 스풀 스레드에서, 버퍼는 그 뒤에 돌려준다)
+        if (policy == CollectorProperties.QueueFullPolicy.SPILL && gpxSpool.isEnabled()
+                && spillQueue.offer(new SpillTask(carNumber, loginId, batch, release))) {
+            return;
+        }
+        dropped.incrementAndGet();
+        release.run();
+        log.error("전송 큐가 가득 차 배치를 버립니다: {}", carNumber);
+    }
+
+    // 요청을 보낸 뒤 바로 돌아온다. 결과는 응답이 오면 HTTP 클라이언트 스레드에서 기록된다
+    public void upload(String carNumber, String loginId, GpxPointBuffer batch) {
+        GpxPayload payload;
+        try {
+            payload = gpxPayloadEncoder.encode(carNumber, loginId, batch);
+        } catch (Exception e) {
+            log.error("GPX 배치 직렬화 실패: {}", carNumber, e);
+            return;
+        }
+        batchPoints.record(batch.size());
+        send(collectorProperties.getPath(), payload, batch.size() + " points", 0);
+    }
+
+    private void uploadEnvelope(List<byte[]> batches) {
+        envelopeBatches.record(batches.size());
+        send(collectorProperties.getAggregation().getPath(), gpxPayloadEncoder.encodeEnvelope(batches),
+                batches.size() + " batches", 0);
+    }
+
+    // 스풀을 쓰면 collector가 밀려 있을 때 기다리지 않고 바로 스풀로 넘긴다
+    private void send(String path, GpxPayload payload, String content, int attempt) {
+        long startedAt = System.nanoTime();
+        CompletableFuture<HttpResponse<String>> request = gpxSpool.isEnabled()
+                ? collectorClient.tryPost(path, payload)
+                : collectorClient.post(path, payload);
+        request.whenComplete((response, e) -> {
+            long elapsed = System.nanoTime() - startedAt;
+            if (e != null) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (CollectorClient.isShed(cause)) {
+                    // 보내지도 못한 요청은 재시도해도 같은 이유로 거절되므로 바로 스풀로
+                    spool(path, payload, content);
+                    return;
+                }
+                uploadIoError.record(elapsed, TimeUnit.NANOSECONDS);
+                log.warn("Collector API 호출 실패 ({}): {}", content, cause.toString());
+                retryOrSpool(path, payload, content, attempt);
+                return;
+            }
+            payloadBytes.record(payload.getBody().length);
+            if (CollectorClient.isRetriable(response.statusCode())) {
+                uploadRetriable.record(elapsed, TimeUnit.NANOSECONDS);
+                log.warn("Collector 서버 오류 ({}): {}", content, response.statusCode());
+                retryOrSpool(path, payload, content, attempt);
+            } else if (response.statusCode() >= 400) {
+                uploadRejected.record(elapsed, TimeUnit.NANOSECONDS);
+                log.error("Collector 서버 오류: {} - {}", response.statusCode(), response.body());
+            } else {
+                uploadSuccess.record(elapsed, TimeUnit.NANOSECONDS);
+                log.debug("Collector 응답 상태: {} ({}, {} -> {} bytes)", response.statusCode(),
+                        content, payload.getUncompressedBytes(), payload.getBody().length);
+            }
+        });
+    }
+
+    private void retryOrSpool(String path, GpxPayload payload, String content, int attempt) {
+        CollectorProperties.Retry retry = collectorProperties.getRetry();
+        if (attempt + 1 >= retry.getMaxAttempts()) {
+            spool(path, payload, content);
+            return;
+        }
+        retried.incrementAndGet();
+        long delay = JitteredBackoff.delayMillis(attempt, retry.getInitialBackoffMillis(), retry.getMaxBackoffMillis());
+        Executor delayed = CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, task -> {
+            if (!tryExecute(task)) {
+                spool(path, payload, content);
+            }
+        });
+        delayed.execute(() -> send(path, payload, content, attempt + 1));
+    }
+
+    private boolean tryExecute(Runnable task) {
+        try {
+            gpxFlushExecutor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    // 전송 풀 큐에서 가장 오래 기다린 작업을 버린다 (가상 스레드 모드는 큐가 없어 새 배치에 SPILL/DROP_NEWEST 처리)
+    private boolean shedOldestTask() {
+        if (gpxFlushExecutor instanceof ThreadPoolTaskExecutor pool
+                && pool.getThreadPoolExecutor().getQueue().poll() != null) {
+            dropped.incrementAndGet();
+            log.error("전송 큐가 가득 차 가장 오래된 배치를 버립니다");
+            return true;
+        }
+        return false;
+    }
+
+    private void spillLoop() {
+        List<SpillTask> tasks = new ArrayList<>();
+        while (running || !spillQueue.isEmpty()) {
+            try {
+                SpillTask first = spillQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                tasks.add(first);
+                spillQueue.drainTo(tasks);
+                for (SpillTask task : tasks) {
+                    spill(task);
+                }
+                tasks.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // 전송 큐가 가득 차 넘어온 배치를 직렬화해 스풀에 넣는다
+    private void spill(SpillTask task) {
+        try {
+            GpxPayload payload = gpxPayloadEncoder.encode(task.carNumber(), task.loginId(), task.batch());
+            spool(collectorProperties.getPath(), payload, task.batch().size() + " points");
+        } catch (Exception e) {
+            dropped.incrementAndGet();
+            log.error("GPX 배치 직렬화 실패: {}", task.carNumber(), e);
+        } finally {
+            task.release().run();
+        }
+    }
+
+    private void spool(String path, GpxPayload payload, String content) {
+        if (gpxSpool.append(path, payload)) {
+            spooled.incrementAndGet();
+        } else {
+            dropped.incrementAndGet();
+            log.error("전송하지 못한 배치를 버립니다 ({})", content);
+        }
+    }
+
+    private record SpillTask(String carNumber, String loginId, GpxPointBuffer batch, Runnable release) {
+    }
+}
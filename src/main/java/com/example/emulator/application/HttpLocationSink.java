@@ -0,0 +1,19 @@
+package com.example.emulator.application;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// 위치 배치를 collector로 HTTP 전송한다 (배치/재시도/스풀은 GpxUploader가 처리)
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "emulator.location.sink", havingValue = "http", matchIfMissing = true)
+public class HttpLocationSink implements LocationSink {
+
+    private final GpxUploader gpxUploader;
+
+    @Override
+    public void submit(String carNumber, String loginId, GpxPointBuffer batch, Runnable release) {
+        gpxUploader.submit(carNumber, loginId, batch, release);
+    }
+}
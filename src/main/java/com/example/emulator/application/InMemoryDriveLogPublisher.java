@@ -0,0 +1,57 @@
+package com.example.emulator.application;
+
+import com.example.emulator.application.dto.DriveLogEventDto;
+import com.example.emulator.application.dto.DriveLogStatsDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// 운행 이벤트를 발행하지 않고 routing key별 건수만 센다. RabbitMQ 없이 실행(부하 테스트 등)할 때 사용
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "emulator.drive-log.publisher", havingValue = "memory")
+public class InMemoryDriveLogPublisher implements DriveLogPublisher {
+
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+    private final AtomicLong published = new AtomicLong();
+
+    public InMemoryDriveLogPublisher(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("emulator.drive.log.published", published, AtomicLong::get)
+                .description("발행한 운행 이벤트 수 (재발행 포함)").register(meterRegistry);
+        log.info("운행 이벤트를 RabbitMQ로 발행하지 않고 메모리에서 집계합니다");
+    }
+
+    @Override
+    public void sendMessage(String exchange, String routingKey, DriveLogEventDto message) {
+        counts.computeIfAbsent(routingKey, key -> new LongAdder()).increment();
+        published.incrementAndGet();
+    }
+
+    @Override
+    public void sendMessages(String exchange, String routingKey, List<DriveLogEventDto> messages) {
+        counts.computeIfAbsent(routingKey, key -> new LongAdder()).add(messages.size());
+        published.addAndGet(messages.size());
+    }
+
+    public long getCount(String routingKey) {
+        LongAdder count = counts.get(routingKey);
+        return count != null ? count.sum() : 0;
+    }
+
+    @Override
+    public DriveLogStatsDto getStats() {
+        return DriveLogStatsDto.builder()
+                .confirms(false)
+                .published(published.get())
+                .confirmed(published.get())
+                .build();
+    }
+}
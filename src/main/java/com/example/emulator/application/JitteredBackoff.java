@@ -0,0 +1,18 @@
+package com.example.emulator.application;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// 지수 백오프 + full jitter: attempt번째 재시도 대기 시간을 [0, min(max, initial * 2^attempt)] 에서 고른다
+final class JitteredBackoff {
+
+    private JitteredBackoff() {
+    }
+
+    static long delayMillis(int attempt, long initialMillis, long maxMillis) {
+        long ceiling = initialMillis << Math.min(attempt, 30);
+        if (ceiling <= 0 || ceiling > maxMillis) {
+            ceiling = maxMillis;
+        }
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.emulator.application;
+
+/**
+ * 차량 위치 배치를 내보내는 곳. emulator.location.sink 설정으로 구현을 고른다.
+ * <ul>
+ *     <li>http: collector로 HTTP 전송 ({@link GpxUploader}, 기본값)</li>
+ *     <li>amqp: RabbitMQ 위치 exchange로 발행</li>
+ *     <li>memory: 메모리에 보관 (테스트/부하 측정용)</li>
+ * </ul>
+ */
+public interface LocationSink {
+
+    /**
+     * tick 스레드에서 호출된다. 호출 스레드를 블로킹하지 않아야 하며,
+     * batch를 더 이상 읽지 않게 된 시점에 release를 한 번 호출해야 한다.
+     */
+    void submit(String carNumber, String loginId, GpxPointBuffer batch, Runnable release);
+}
@@ -5,21 +5,21 @@ import com.example.emulator.car.CarStatus;
 import com.example.emulator.car.domain.CarEntity;
 import com.example.emulator.car.exception.CarErrorCode;
 import com.example.emulator.car.exception.CarNotFoundException;
+import com.example.emulator.car.exception.CarNotOwnedException;
 import com.example.emulator.car.CarReader;
+import com.example.emulator.cluster.ClusterNode;
+import com.example.emulator.config.ClusterProperties;
 import com.example.emulator.controller.dto.LogPowerDto;
-import com.example.emulator.infrastructure.car.CarRepository;
+import com.example.emulator.infrastructure.cluster.ClusterForwarder;
+import com.example.emulator.route.GpxRoute;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledExecutorService;
 
 
 @Slf4j
@@ -28,96 +28,144 @@ import java.util.concurrent.ScheduledExecutorService;
 public class LogService {
 
     private final CarReader carReader;
-    private final CarRepository carRepository;
-    private final RestTemplate restTemplate;
+    private final GpxUploader gpxUploader;
+    private final LocationSink locationSink;
+    private final RouteSelector routeSelector;
+    private final MotionProfiles motionProfiles;
 
-    private final RabbitMqPublisher rabbitMqPublisher;
+    private final DriveLogPublisher driveLogPublisher;
     private final updateCarStatusService updateCarStatusService;
 
-    private static final String DRIVE_LOG_EXCHANGE = "drive.log.exchange";
+    private final ClusterCoordinator clusterCoordinator;
+    private final ClusterForwarder clusterForwarder;
+    private final ClusterProperties clusterProperties;
 
-    @Qualifier("gpxSchedulerPool")
-    private final ScheduledExecutorService gpxSchedulerPool;
+    static final String DRIVE_LOG_EXCHANGE = "drive.log.exchange";
+
+    private final FleetTickEngine fleetTickEngine;
 
 
     private final Map<String, GpxScheduler> schedulers = new ConcurrentHashMap<>();
 
     public LogPowerDto changePowerStatus(LogPowerDto logPowerDto) {
+        return changePowerStatus(logPowerDto, null);
+    }
+
+    // forwardedBy: 다른 노드가 넘긴 요청이면 보낸 노드 id. 이미 넘겨받은 요청은 다시 넘기지 않고 처리한다
+    public LogPowerDto changePowerStatus(LogPowerDto logPowerDto, String forwardedBy) {
         String carNumber = logPowerDto.getCarNumber();
         String loginId = logPowerDto.getLoginId();
         String powerStatus = logPowerDto.getPowerStatus();
 
+        if (forwardedBy == null && !clusterCoordinator.isOwner(carNumber)) {
+            ClusterNode owner = clusterCoordinator.ownerOf(carNumber);
+            if (clusterProperties.getNotOwnedPolicy() == ClusterProperties.NotOwnedPolicy.REJECT) {
+                throw new CarNotOwnedException(CarErrorCode.CAR_OWNED_BY_OTHER_NODE, carNumber, owner.nodeId(), owner.baseUrl());
+            }
+            log.debug("담당 노드로 시동 요청 전달: {} -> {}", carNumber, owner.nodeId());
+            return clusterForwarder.forwardPower(owner, clusterCoordinator.getSelf().nodeId(), logPowerDto);
+        }
+
         CarEntity carEntity = carReader.findByCarNumber(carNumber)
                 .orElseThrow(() -> new CarNotFoundException(CarErrorCode.CAR_NOT_FOUND_BY_NUMBER, carNumber));
 
         if (powerStatus.equals("ON")) {
-            // 이미 실행 중인 스케줄러가 있으면 중지
-            if (schedulers.containsKey(carNumber)) {
-                log.info("이미 실행중인 스케줄러가 있어, 기존 스케줄러를 중지합니다: {}", carNumber);
-                schedulers.get(carNumber).stopScheduler();
-                schedulers.remove(carNumber);
-            }
+            startDrive(carNumber, loginId,
+                    gpxUploader.policyFor(logPowerDto.getBatchSize(), logPowerDto.getMaxLatencySeconds()),
+                    logPowerDto.getRouteName());
+            carEntity.setStatus(CarStatus.IDLE);
+            driveLogPublisher.sendMessage(DRIVE_LOG_EXCHANGE, "drive.log.ON", driveLogEvent(carNumber, "ON"));
 
-            //status 변경 "운행"
-            log.info("차량 상태 ON: {} ", carNumber);
+        } else if (powerStatus.equals("OFF")) {
+            stopDrive(carNumber);
+            driveLogPublisher.sendMessage(DRIVE_LOG_EXCHANGE, "drive.log.OFF", driveLogEvent(carNumber, "OFF"));
+        }
 
-            updateCarStatusService.updateCarStatusAsync(carNumber, CarStatus.DRIVING);
+        return LogPowerDto.builder()
+                .carNumber(carEntity.getCarNumber())
+                .loginId(loginId)
+                .powerStatus(carEntity.getStatus().getDisplayName())
+                .build();
+    }
 
-            carEntity.setStatus(CarStatus.IDLE);
+    void startDrive(String carNumber, String loginId, FlushPolicy flushPolicy) {
+        startDrive(carNumber, loginId, flushPolicy, null);
+    }
 
+    // 상태를 "운행"으로 바꾸고 새 스케줄러를 시작한다. 이미 실행 중인 스케줄러가 있으면 먼저 중지
+    // routeName: 재생할 경로를 지정할 때 (없으면 RouteSelector가 seed로 선택)
+    // 경로를 고르지 못하면 상태를 바꾸기 전에 RouteNotFoundException / NoRouteAvailableException
+    void startDrive(String carNumber, String loginId, FlushPolicy flushPolicy, String routeName) {
+        RouteSelector.RouteSelection selection = routeSelector.select(carNumber, routeName);
 
-            DriveLogEventDto driveLogOnEvent = DriveLogEventDto.builder()
-                    .eventTime(LocalDateTime.now())
-                    .carNumber(carEntity.getCarNumber())
-                    .status("ON")
-                    .build();
+        GpxScheduler running = schedulers.remove(carNumber);
+        if (running != null) {
+            log.info("이미 실행중인 스케줄러가 있어, 기존 스케줄러를 중지합니다: {}", carNumber);
+            running.stopScheduler();
+        }
 
+        //status 변경 "운행"
+        log.info("차량 상태 ON: {} ", carNumber);
+        updateCarStatusService.updateCarStatusAsync(carNumber, CarStatus.DRIVING);
 
-            rabbitMqPublisher.sendMessage(DRIVE_LOG_EXCHANGE, "drive.log.ON", driveLogOnEvent);
+        log.info("새로운 스케줄러를 시작합니다: {}", carNumber);
+        GpxScheduler gpxScheduler = new GpxScheduler(locationSink, fleetTickEngine);
+        schedulers.put(carNumber, gpxScheduler);
+        gpxScheduler.init(carNumber, loginId, selection, flushPolicy, motionProfiles.forCar(carNumber));
+    }
 
+    // 상태를 "대기"로 바꾸고 실행 중인 스케줄러를 중지한다
+    void stopDrive(String carNumber) {
+        updateCarStatusService.updateCarStatusAsync(carNumber, CarStatus.IDLE);
+
+        GpxScheduler running = schedulers.remove(carNumber);
+        if (running != null) {
+            try {
+                log.info("실행중인 스케줄러를 중지합니다: {}", carNumber);
+                running.stopScheduler();
+            } catch (Exception e) {
+                log.error("stopScheduler() 호출 중 예외 발생 (무시하고 제거 진행): {}", e.getMessage(), e);
+            }
+        } else {
+            log.warn("중지할 스케줄러를 찾을 수 없습니다: {}", carNumber);
+        }
 
-            log.info("새로운 스케줄러를 시작합니다: {}", carNumber);
-            GpxScheduler gpxScheduler = new GpxScheduler(restTemplate, gpxSchedulerPool, carRepository, updateCarStatusService);
-            schedulers.put(carNumber, gpxScheduler);
-            gpxScheduler.init(carNumber, loginId);
+        log.info("차량 상태 OFF: {}", carNumber);
+    }
 
-        } else if (powerStatus.equals("OFF")) {
-            updateCarStatusService.updateCarStatusAsync(carNumber, CarStatus.IDLE);
-
-
-            DriveLogEventDto driveLogOffEvent = DriveLogEventDto.builder()
-                    .eventTime(LocalDateTime.now())
-                    .carNumber(carEntity.getCarNumber())
-                    .status("OFF")
-                    .build();
-
-            rabbitMqPublisher.sendMessage(DRIVE_LOG_EXCHANGE, "drive.log.OFF", driveLogOffEvent);
-
-
-            if(schedulers.containsKey(carNumber)){
-                try{
-                    log.info("실행중인 스케줄러를 중지합니다: {}", carNumber);
-                    schedulers.get(carNumber).stopScheduler();
-                }catch (Exception e){
-                    log.error("stopScheduler() 호출 중 예외 발생 (무시하고 제거 진행): {}", e.getMessage(), e);
-                }finally{
-                    log.info("스케줄러를 맵에서 제거합니다: {}", carNumber);
-                    schedulers.remove(carNumber);
-                }
-            }else{
-                log.warn("중지할 스케줄러를 찾을 수 없습니다: {}", carNumber);
-            }
+    // 체크포인트에서 재생을 이어간다. 차량 상태(운행)와 운행 이벤트는 이미 반영되어 있으므로 다시 보내지 않는다
+    void resumeDrive(DriveSnapshot snapshot, GpxRoute route) {
+        GpxScheduler gpxScheduler = new GpxScheduler(locationSink, fleetTickEngine);
+        gpxScheduler.restore(snapshot, route, motionProfiles.forCar(snapshot.carNumber()));
+        schedulers.put(snapshot.carNumber(), gpxScheduler);
+        gpxScheduler.startScheduler();
+    }
 
-            log.info("차량 상태 OFF: {}", carNumber);
+    // 클러스터 담당이 다른 노드로 넘어간 차량: 상태(운행)와 운행 이벤트는 그대로 두고 재생만 멈춘다
+    void handOff(String carNumber) {
+        GpxScheduler running = schedulers.remove(carNumber);
+        if (running != null) {
+            running.stopScheduler();
+        }
+    }
 
+    boolean isRunning(String carNumber) {
+        return schedulers.containsKey(carNumber);
+    }
 
+    List<String> getRunningCarNumbers() {
+        return List.copyOf(schedulers.keySet());
+    }
 
-        }
+    int getRunningCount() {
+        return schedulers.size();
+    }
 
-        return LogPowerDto.builder()
-                .carNumber(carEntity.getCarNumber())
-                .loginId(loginId)
-                .powerStatus(carEntity.getStatus().getDisplayName())
+    static DriveLogEventDto driveLogEvent(String carNumber, String status) {
+        return DriveLogEventDto.builder()
+                .eventTime(LocalDateTime.now())
+                .carNumber(carNumber)
+                .status(status)
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,162 @@
+package com.example.emulator.application;
+
+import com.example.emulator.route.GpxRoute;
+
+/**
+ * 차량 한 대의 거리 기반 주행 상태. 경로 포인트를 tick마다 하나씩 넘기지 않고
+ * 가속 → 순항 → 정차 지점 앞 감속 → 정차를 반복하며 달린 거리만큼 경로 위를 이동한다.
+ * 위치는 경로에 미리 계산된 누적 거리({@link GpxRoute#distanceAt})에서 현재 구간을 커서로 따라가며 보간하므로 tick당 O(1)이다.
+ * 정차 간격·시간은 (seed, 정차 번호)로 정해지므로 {@link State}만 저장하면 같은 운행을 이어갈 수 있다.
+ */
+final class MotionModel {
+
+    private final MotionProfile profile;
+    private final GpxRoute route;
+    private final int lastIndex;
+    private final double endDistance;
+
+    private double distance; // 경로 시작점부터 달린 거리 (m)
+    private double speed; // m/s
+    private int segment; // 현재 구간의 시작 포인트
+    private int stopCount;
+    private double nextStopAt;
+    private double stopRemaining; // 남은 정차 시간 (초)
+
+    private double latitude;
+    private double longitude;
+    private double heading;
+
+    MotionModel(MotionProfile profile, GpxRoute route, int startIndex, int endIndex) {
+        this.profile = profile;
+        this.route = route;
+        this.lastIndex = endIndex - 1;
+        this.endDistance = route.distanceAt(lastIndex);
+        this.distance = route.distanceAt(startIndex);
+        this.segment = startIndex;
+        this.nextStopAt = distance + stopSpacing(0);
+        locate();
+    }
+
+    // 저장된 주행 상태로 되돌린다. 구간은 누적 거리에서 이분 탐색으로 찾는다
+    void restore(State state) {
+        this.distance = Math.min(state.distance(), endDistance);
+        this.speed = state.speed();
+        this.stopCount = state.stopCount();
+        this.nextStopAt = state.nextStopAt();
+        this.stopRemaining = state.stopRemaining();
+        this.segment = Math.min(route.indexAt(distance), lastIndex);
+        locate();
+    }
+
+    State state() {
+        return new State(distance, speed, stopCount, nextStopAt, stopRemaining);
+    }
+
+    /**
+     * tick 한 번만큼 주행한다.
+     *
+     * @return 경로 끝에 도달했으면 false
+     */
+    boolean advance() {
+        double dt = profile.tickSeconds();
+        if (stopRemaining > 0) {
+            stopRemaining -= dt;
+            if (stopRemaining <= 0) {
+                leaveStop();
+            }
+            return true;
+        }
+
+        // 다음 정차 지점(또는 경로 끝)까지 남은 거리 안에 멈출 수 있는 속도로 제한한다
+        double target = Math.min(nextStopAt, endDistance);
+        double limit = Math.min(profile.cruiseSpeed(), Math.sqrt(2 * profile.deceleration() * Math.max(0, target - distance)));
+        speed = speed < limit ? Math.min(limit, speed + profile.acceleration() * dt) : limit;
+        distance = Math.min(target, distance + speed * dt);
+        locate();
+
+        if (distance >= endDistance) {
+            speed = 0;
+            return false;
+        }
+        if (distance >= nextStopAt) {
+            speed = 0;
+            stopRemaining = profile.stopSeconds() * (0.5 + unit(2L * stopCount + 1));
+            if (stopRemaining <= 0) {
+                // 정차 시간이 0이면 멈춘 tick에 바로 다음 정차 지점을 정한다 (그대로 두면 남은 거리 0에 묶여 움직이지 않음)
+                leaveStop();
+            }
+        }
+        return true;
+    }
+
+    private void leaveStop() {
+        stopRemaining = 0;
+        stopCount++;
+        nextStopAt = distance + stopSpacing(stopCount);
+    }
+
+    // 구간 커서를 앞으로 옮기고 구간 안에서 위치를 선형 보간한다
+    private void locate() {
+        while (segment < lastIndex - 1 && route.distanceAt(segment + 1) <= distance) {
+            segment++;
+        }
+        if (segment >= lastIndex) {
+            latitude = route.latitude(lastIndex);
+            longitude = route.longitude(lastIndex);
+            return;
+        }
+        double from = route.distanceAt(segment);
+        double length = route.distanceAt(segment + 1) - from;
+        if (length <= 0) {
+            // 같은 좌표가 반복된 구간은 방향을 바꾸지 않는다
+            latitude = route.latitude(segment + 1);
+            longitude = route.longitude(segment + 1);
+            return;
+        }
+        double t = Math.min(1, (distance - from) / length);
+        latitude = route.latitude(segment) + (route.latitude(segment + 1) - route.latitude(segment)) * t;
+        longitude = route.longitude(segment) + (route.longitude(segment + 1) - route.longitude(segment)) * t;
+        heading = route.bearing(segment);
+    }
+
+    private double stopSpacing(int stop) {
+        if (profile.stopIntervalMeters() <= 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return profile.stopIntervalMeters() * (0.5 + unit(2L * stop));
+    }
+
+    // (seed, n)으로 정해지는 [0, 1) 난수
+    private double unit(long n) {
+        long z = profile.seed() + n * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        z ^= z >>> 33;
+        return (z >>> 11) * 0x1.0p-53;
+    }
+
+    double latitude() {
+        return latitude;
+    }
+
+    double longitude() {
+        return longitude;
+    }
+
+    int segment() {
+        return segment;
+    }
+
+    // km/h × 10
+    int speedKmhE1() {
+        return (int) Math.round(speed * 36);
+    }
+
+    // 진행 방향 (북쪽 0도, 시계 방향)
+    int headingDegrees() {
+        return (int) Math.round(heading) % 360;
+    }
+
+    record State(double distance, double speed, int stopCount, double nextStopAt, double stopRemaining) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.emulator.application;
+
+/**
+ * 차량 한 대의 주행 특성 (단위: m, m/s, m/s², 초).
+ *
+ * @param seed        정차 간격·시간을 정하는 차량별 seed
+ * @param tickSeconds tick 한 번에 흐르는 시뮬레이션 시간
+ */
+public record MotionProfile(double cruiseSpeed, double acceleration, double deceleration,
+                            double stopIntervalMeters, double stopSeconds, long seed, double tickSeconds) {
+}
@@ -0,0 +1,40 @@
+package com.example.emulator.application;
+
+import com.example.emulator.config.FleetProperties;
+import com.example.emulator.config.MotionProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.SplittableRandom;
+
+/**
+ * 차량별 주행 특성을 만든다. 경로 선택과 같은 실행 seed와 차량번호로 정하므로
+ * seed가 같으면 차량마다 같은 순항 속도와 정차 패턴이 나온다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MotionProfiles {
+
+    private final MotionProperties motionProperties;
+    private final FleetProperties fleetProperties;
+    private final RouteSelector routeSelector;
+
+    // 주행 모델을 쓰지 않으면 null
+    public MotionProfile forCar(String carNumber) {
+        if (!motionProperties.isEnabled()) {
+            return null;
+        }
+        // 경로 선택과 다른 상수로 섞어 경로와 속도가 서로 엮이지 않게 한다
+        SplittableRandom random = new SplittableRandom(routeSelector.getSeed() ^ (carNumber.hashCode() * 0xC2B2AE3D27D4EB4FL));
+        double variation = Math.max(0, Math.min(1, motionProperties.getSpeedVariation()));
+        double cruiseKmh = motionProperties.getCruiseSpeedKmh() * (1 + variation * (2 * random.nextDouble() - 1));
+        return new MotionProfile(
+                cruiseKmh / 3.6,
+                motionProperties.getAcceleration(),
+                motionProperties.getDeceleration(),
+                motionProperties.getStopIntervalMeters(),
+                motionProperties.getStopSeconds(),
+                random.nextLong(),
+                fleetProperties.getTickPeriodMillis() / 1000.0);
+    }
+}
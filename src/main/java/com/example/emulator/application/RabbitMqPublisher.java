@@ -1,22 +1,352 @@
 package com.example.emulator.application;
 
 import com.example.emulator.application.dto.DriveLogEventDto;
+import com.example.emulator.application.dto.DriveLogStatsDto;
+import com.example.emulator.config.DriveLogProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * 운행 이벤트 발행 파이프라인. 호출 스레드는 제한된 큐에 넣기만 하고, 발행 스레드 하나가
+ * 이벤트를 묶어 채널 하나로 이어서 발행한다. publisher confirm(correlated)이 켜져 있으면
+ * 확인을 비동기로 추적해 nack이나 시간 초과된 이벤트를 지터를 섞은 백오프 뒤 다시 발행한다.
+ * 브로커 연결 실패로 보내지 못한 이벤트는 재발행 횟수에 넣지 않고 연결이 돌아올 때까지 백오프하며 다시 보낸다.
+ * 차량마다 한 번에 이벤트 하나만 발행 중으로 두고, 같은 차량의 다음 이벤트는 앞 이벤트가 확인되거나
+ * 버려질 때까지 기다리게 해 재발행으로 시동 ON/OFF 순서가 뒤바뀌지 않게 한다.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class RabbitMqPublisher {
+@ConditionalOnProperty(name = "emulator.drive-log.publisher", havingValue = "amqp", matchIfMissing = true)
+public class RabbitMqPublisher implements DriveLogPublisher {
 
     private final RabbitTemplate rabbitTemplate;
+    private final DriveLogProperties driveLogProperties;
+    private final MeterRegistry meterRegistry;
+
+    private BlockingQueue<PendingEvent> queue;
+    private final Map<String, PendingEvent> unconfirmed = new ConcurrentHashMap<>();
+    // 발행 중(큐 대기, 확인 대기, 재발행)인 이벤트가 있는 차량과, 그 뒤를 기다리는 같은 차량의 이벤트
+    private final Map<String, ArrayDeque<PendingEvent>> inFlightCars = new HashMap<>();
+    private int waiting;
+    private final AtomicInteger backingOff = new AtomicInteger(); // 백오프 뒤 다시 큐에 들어갈 이벤트
+    private boolean confirms;
+
+    private Thread thread;
+    private volatile boolean running;
 
-    @Async("rabbitDriveLogEvent")
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong confirmed = new AtomicLong();
+    private final AtomicLong nacked = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong confirmNanosTotal = new AtomicLong();
+    private final LongAccumulator confirmNanosMax = new LongAccumulator(Math::max, 0);
+    private Timer confirmTimer;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(driveLogProperties.getQueueCapacity());
+        confirms = rabbitTemplate.getConnectionFactory().isPublisherConfirms();
+        if (!confirms) {
+            log.warn("RabbitMQ publisher confirm이 꺼져 있어 발행 결과를 확인하지 않습니다 (spring.rabbitmq.publisher-confirm-type=correlated)");
+        }
+        registerMeters();
+        running = true;
+        thread = new Thread(this::publishLoop, "driveLogPublisher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void registerMeters() {
+        Gauge.builder("emulator.drive.log.queued", queue, BlockingQueue::size)
+                .description("발행을 기다리는 운행 이벤트 수").register(meterRegistry);
+        Gauge.builder("emulator.drive.log.waiting", this, RabbitMqPublisher::waiting)
+                .description("같은 차량의 앞 이벤트 확인을 기다리는 운행 이벤트 수").register(meterRegistry);
+        Gauge.builder("emulator.drive.log.backoff", backingOff, AtomicInteger::get)
+                .description("재발행 전 백오프 중인 운행 이벤트 수").register(meterRegistry);
+        Gauge.builder("emulator.drive.log.unconfirmed", unconfirmed, Map::size)
+                .description("확인을 기다리는 운행 이벤트 수").register(meterRegistry);
+        FunctionCounter.builder("emulator.drive.log.published", published, AtomicLong::get)
+                .description("발행한 운행 이벤트 수 (재발행 포함)").register(meterRegistry);
+        FunctionCounter.builder("emulator.drive.log.confirmed", confirmed, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("emulator.drive.log.nacked", nacked, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("emulator.drive.log.retried", retried, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("emulator.drive.log.dropped", dropped, AtomicLong::get).register(meterRegistry);
+        confirmTimer = Timer.builder("emulator.drive.log.confirm")
+                .description("발행부터 broker 확인까지 걸린 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // 남은 이벤트를 발행하고 확인을 잠시 기다린 뒤 종료
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!unconfirmed.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        int unsent = queue.size() + waiting() + backingOff.get();
+        if (!unconfirmed.isEmpty() || unsent > 0) {
+            log.warn("종료 시 확인되지 않은 운행 이벤트 {}건, 발행하지 못한 이벤트 {}건", unconfirmed.size(), unsent);
+        }
+    }
+
+    // 호출 스레드를 블로킹하지 않는다. 큐가 가득 차면 버리고 dropped로 집계한다
+    @Override
     public void sendMessage(String exchange, String routingKey, DriveLogEventDto message) {
-        rabbitTemplate.convertAndSend(exchange, routingKey, message);
+        admit(new PendingEvent(exchange, routingKey, message));
+    }
+
+    @Override
+    public void sendMessages(String exchange, String routingKey, List<DriveLogEventDto> messages) {
+        for (DriveLogEventDto message : messages) {
+            admit(new PendingEvent(exchange, routingKey, message));
+        }
+    }
+
+    @Override
+    public DriveLogStatsDto getStats() {
+        long confirmedCount = confirmed.get();
+        return DriveLogStatsDto.builder()
+                .confirms(confirms)
+                .queued(queue.size())
+                .waiting(waiting())
+                .backoff(backingOff.get())
+                .unconfirmed(unconfirmed.size())
+                .published(published.get())
+                .confirmed(confirmedCount)
+                .nacked(nacked.get())
+                .retried(retried.get())
+                .dropped(dropped.get())
+                .avgConfirmMicros(confirmedCount > 0 && confirms
+                        ? TimeUnit.NANOSECONDS.toMicros(confirmNanosTotal.get() / confirmedCount) : 0)
+                .maxConfirmMicros(TimeUnit.NANOSECONDS.toMicros(confirmNanosMax.get()))
+                .build();
+    }
+
+    // 같은 차량의 이벤트가 발행 중이면 그 뒤에 세워 두고, 아니면 발행 큐에 넣는다
+    private void admit(PendingEvent event) {
+        synchronized (inFlightCars) {
+            ArrayDeque<PendingEvent> later = inFlightCars.get(event.carNumber());
+            if (later != null) {
+                if (waiting >= driveLogProperties.getQueueCapacity()) {
+                    dropped.incrementAndGet();
+                    log.error("운행 이벤트 대기열이 가득 차 버립니다: {} {}", event.routingKey, event.carNumber());
+                    return;
+                }
+                later.add(event);
+                waiting++;
+                return;
+            }
+            inFlightCars.put(event.carNumber(), new ArrayDeque<>(1));
+        }
+        enqueue(event);
+    }
+
+    private void enqueue(PendingEvent event) {
+        if (!queue.offer(event)) {
+            dropped.incrementAndGet();
+            log.error("운행 이벤트 발행 큐가 가득 차 버립니다: {} {}", event.routingKey, event.carNumber());
+            complete(event);
+        }
     }
 
+    // 확인되었거나 버린 이벤트 다음으로 기다리던 같은 차량의 이벤트를 발행 큐에 넣는다
+    private void complete(PendingEvent event) {
+        while (true) {
+            PendingEvent next;
+            synchronized (inFlightCars) {
+                ArrayDeque<PendingEvent> later = inFlightCars.get(event.carNumber());
+                next = later != null ? later.poll() : null;
+                if (next == null) {
+                    inFlightCars.remove(event.carNumber());
+                    return;
+                }
+                waiting--;
+            }
+            if (queue.offer(next)) {
+                return;
+            }
+            dropped.incrementAndGet();
+            log.error("운행 이벤트 발행 큐가 가득 차 버립니다: {} {}", next.routingKey, next.carNumber());
+            event = next;
+        }
+    }
 
+    private int waiting() {
+        synchronized (inFlightCars) {
+            return waiting;
+        }
+    }
+
+    private void publishLoop() {
+        List<PendingEvent> batch = new ArrayList<>(driveLogProperties.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingEvent first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    long lingerDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(driveLogProperties.getLingerMillis());
+                    while (batch.size() < driveLogProperties.getBatchSize()) {
+                        long wait = lingerDeadline - System.nanoTime();
+                        PendingEvent next = wait > 0 ? queue.poll(wait, TimeUnit.NANOSECONDS) : queue.poll();
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                    publish(batch);
+                    batch.clear();
+                }
+                expireUnconfirmed();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("운행 이벤트 발행 중 오류", e);
+            }
+        }
+    }
+
+    private void publish(List<PendingEvent> batch) {
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (PendingEvent event : batch) {
+                    event.attempts++;
+                    event.publishedAtNanos = System.nanoTime();
+                    if (confirms) {
+                        CorrelationData correlation = new CorrelationData();
+                        event.correlationId = correlation.getId();
+                        unconfirmed.put(event.correlationId, event);
+                        correlation.getFuture().whenComplete((confirm, e) ->
+                                onConfirm(correlation.getId(), confirm != null && confirm.isAck(),
+                                        confirm != null ? confirm.getReason() : String.valueOf(e)));
+                        operations.convertAndSend(event.exchange, event.routingKey, event.message, correlation);
+                    } else {
+                        operations.convertAndSend(event.exchange, event.routingKey, event.message);
+                        event.sent = true;
+                        confirmed.incrementAndGet();
+                        complete(event);
+                    }
+                    published.incrementAndGet();
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.error("운행 이벤트 {}건 발행 실패, 재시도합니다: {}", batch.size(), e.toString());
+            for (PendingEvent event : batch) {
+                // 발행하지 못했거나, 발행했지만 아직 확인되지 않은 이벤트만 다시 보낸다
+                boolean resend = event.correlationId != null
+                        ? unconfirmed.remove(event.correlationId) != null
+                        : !event.sent;
+                if (resend) {
+                    // 브로커가 거절한 것이 아니므로 재발행 횟수에 넣지 않는다
+                    event.attempts--;
+                    retry(event);
+                }
+            }
+        }
+    }
+
+    private void onConfirm(String correlationId, boolean ack, String reason) {
+        PendingEvent event = unconfirmed.remove(correlationId);
+        if (event == null) {
+            return;
+        }
+        if (ack) {
+            long elapsed = System.nanoTime() - event.publishedAtNanos;
+            confirmed.incrementAndGet();
+            confirmNanosTotal.addAndGet(elapsed);
+            confirmNanosMax.accumulate(elapsed);
+            confirmTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            complete(event);
+            return;
+        }
+        nacked.incrementAndGet();
+        log.warn("운행 이벤트 nack: {} {} ({})", event.routingKey, event.carNumber(), reason);
+        retry(event);
+    }
+
+    private void expireUnconfirmed() {
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(driveLogProperties.getConfirmTimeoutMillis());
+        long now = System.nanoTime();
+        for (Iterator<PendingEvent> it = unconfirmed.values().iterator(); it.hasNext(); ) {
+            PendingEvent event = it.next();
+            if (now - event.publishedAtNanos > timeoutNanos) {
+                it.remove();
+                nacked.incrementAndGet();
+                log.warn("운행 이벤트 확인 시간 초과: {} {}", event.routingKey, event.carNumber());
+                retry(event);
+            }
+        }
+    }
+
+    // 백오프 뒤 큐에 다시 넣는다. 같은 차량의 다음 이벤트는 그동안 계속 기다리므로 차량 안에서의 순서는 유지된다
+    private void retry(PendingEvent event) {
+        if (event.attempts >= driveLogProperties.getMaxAttempts()) {
+            dropped.incrementAndGet();
+            log.error("운행 이벤트 재발행 횟수 초과로 버립니다: {} {}", event.routingKey, event.carNumber());
+            complete(event);
+            return;
+        }
+        retried.incrementAndGet();
+        event.correlationId = null;
+        event.sent = false;
+        long delay = JitteredBackoff.delayMillis(event.retries++,
+                driveLogProperties.getInitialBackoffMillis(), driveLogProperties.getMaxBackoffMillis());
+        backingOff.incrementAndGet();
+        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(() -> {
+            backingOff.decrementAndGet();
+            enqueue(event);
+        });
+    }
+
+    private static final class PendingEvent {
+        private final String exchange;
+        private final String routingKey;
+        private final DriveLogEventDto message;
+        private int attempts; // 브로커가 받았거나 거절한 발행 횟수 (연결 실패는 넣지 않음)
+        private int retries; // 백오프 단계
+        private long publishedAtNanos;
+        private String correlationId;
+        private boolean sent;
+
+        private PendingEvent(String exchange, String routingKey, DriveLogEventDto message) {
+            this.exchange = exchange;
+            this.routingKey = routingKey;
+            this.message = message;
+        }
+
+        private String carNumber() {
+            return message.getCarNumber();
+        }
+    }
 }
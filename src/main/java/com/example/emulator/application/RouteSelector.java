@@ -0,0 +1,65 @@
+package com.example.emulator.application;
+
+import com.example.emulator.config.RouteProperties;
+import com.example.emulator.route.GpxRoute;
+import com.example.emulator.route.RouteCatalog;
+import com.example.emulator.route.NoRouteAvailableException;
+import com.example.emulator.route.RouteNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 차량의 재생 경로와 시작 위치를 고른다. 실행 seed(emulator.route.seed)와 차량번호로 만든 난수를 쓰므로
+ * 같은 seed·같은 경로 목록이면 실행마다 차량별로 같은 경로·시작 위치가 선택된다.
+ * 요청에 경로를 지정했거나 emulator.route.pinned에 고정 경로가 있으면 그 경로의 처음부터 재생한다.
+ */
+@Slf4j
+@Component
+public class RouteSelector {
+
+    private final RouteCatalog routeCatalog;
+    private final RouteProperties routeProperties;
+    private final long seed;
+
+    public RouteSelector(RouteCatalog routeCatalog, RouteProperties routeProperties) {
+        this.routeCatalog = routeCatalog;
+        this.routeProperties = routeProperties;
+        this.seed = routeProperties.getSeed() != null ? routeProperties.getSeed() : ThreadLocalRandom.current().nextLong();
+        // seed를 지정하지 않았어도 로그의 값으로 같은 실행을 재현할 수 있다
+        log.info("경로 선택 seed: {}", seed);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @param routeName 요청에서 지정한 경로 (없으면 null)
+     * @throws RouteNotFoundException 지정하거나 고정한 경로가 없을 때
+     * @throws NoRouteAvailableException 로드된 경로가 하나도 없을 때
+     */
+    public RouteSelection select(String carNumber, String routeName) {
+        String pinned = routeName != null ? routeName : routeProperties.getPinned().get(carNumber);
+        if (pinned != null) {
+            GpxRoute route = routeCatalog.findByName(pinned).orElseThrow(() -> new RouteNotFoundException(pinned));
+            return new RouteSelection(route, 0);
+        }
+
+        List<GpxRoute> routes = routeCatalog.findAll();
+        if (routes.isEmpty()) {
+            throw new NoRouteAvailableException();
+        }
+        // String.hashCode는 JVM과 무관하게 정해져 있다. SplittableRandom이 seed 비트를 다시 섞는다
+        SplittableRandom random = new SplittableRandom(seed ^ (carNumber.hashCode() * 0x9E3779B97F4A7C15L));
+        GpxRoute route = routes.get(random.nextInt(routes.size()));
+        int margin = routeProperties.getMinRemainingPoints();
+        return new RouteSelection(route, route.size() > margin ? random.nextInt(route.size() - margin) : 0);
+    }
+
+    public record RouteSelection(GpxRoute route, int startIndex) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.emulator.application;
+
+import com.example.emulator.controller.dto.RouteDto;
+import com.example.emulator.route.RouteCatalog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class RouteService {
+
+    private final RouteCatalog routeCatalog;
+
+    public List<RouteDto> getRoutes() {
+        return routeCatalog.findAll().stream()
+                .map(RouteDto::from)
+                .toList();
+    }
+
+    // 요청 본문을 그대로 스트리밍 파싱한다 (본문 전체를 메모리에 올리지 않음)
+    public RouteDto uploadRoute(String name, InputStream gpx) throws IOException {
+        return RouteDto.from(routeCatalog.register(name, gpx));
+    }
+}
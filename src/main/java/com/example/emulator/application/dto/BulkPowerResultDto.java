@@ -0,0 +1,19 @@
+package com.example.emulator.application.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Builder
+@Getter
+@ToString
+public class BulkPowerResultDto {
+    private String powerStatus;
+    private int requested;
+    private int accepted; // 이 노드에서 순차 처리할 차량 수
+    private int notOwned; // 클러스터 모드에서 다른 노드가 담당해 그 노드가 처리할 차량 수
+    private List<String> notFound; // carNumbers로 요청했을 때 DB에 없는 차량번호
+    private long rampMillis; // 마지막 차량이 처리되기까지 예상 시간
+}
@@ -0,0 +1,20 @@
+package com.example.emulator.application.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+@Builder
+@Getter
+@ToString
+public class CarCacheStatsDto {
+    private int cars; // 차량번호별 캐시 항목 수
+    private long carHits;
+    private long carMisses;
+    private int loginIds; // loginId별 차량 목록 캐시 항목 수
+    private long listedCars; // 목록 캐시에 담긴 차량 수 합계
+    private int pendingStatuses; // DB 반영을 기다리며 캐시에 덮어쓰는 상태 변경 수
+    private long listHits;
+    private long listMisses;
+    private long evictions; // 크기 초과 또는 만료로 제거된 항목 수
+}
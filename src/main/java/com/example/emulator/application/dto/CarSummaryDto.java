@@ -0,0 +1,16 @@
+package com.example.emulator.application.dto;
+
+import com.example.emulator.car.CarStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// 차량 목록용 경량 projection (엔티티 대신 필요한 컬럼만 조회)
+@Getter
+@AllArgsConstructor
+@ToString
+public class CarSummaryDto {
+    private int carId;
+    private String carNumber;
+    private CarStatus status;
+}
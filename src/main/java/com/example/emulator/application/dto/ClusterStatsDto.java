@@ -0,0 +1,17 @@
+package com.example.emulator.application.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Builder
+@Getter
+@ToString
+public class ClusterStatsDto {
+    private boolean enabled;
+    private String nodeId;
+    private List<String> nodes; // 현재 링에 올라간 노드 (nodeId 순)
+    private int runningCars; // 이 노드에서 재생 중인 차량 수
+}
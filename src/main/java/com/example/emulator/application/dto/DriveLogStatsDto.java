@@ -0,0 +1,23 @@
+package com.example.emulator.application.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+@Builder
+@Getter
+@ToString
+public class DriveLogStatsDto {
+    private boolean confirms; // publisher confirm 사용 여부
+    private int queued; // 발행 대기 중
+    private int waiting; // 같은 차량의 앞 이벤트가 확인되기를 기다리는 중
+    private int backoff; // 재발행 전 백오프 중
+    private int unconfirmed; // 발행했지만 아직 확인(ack/nack)을 받지 못함
+    private long published;
+    private long confirmed;
+    private long nacked; // nack 또는 확인 시간 초과
+    private long retried;
+    private long dropped; // 큐가 가득 찼거나 재시도 횟수를 넘겨 버린 이벤트
+    private long avgConfirmMicros; // 발행부터 확인까지 평균 시간
+    private long maxConfirmMicros;
+}
@@ -1,5 +1,6 @@
 package com.example.emulator.application.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
@@ -13,4 +14,9 @@ public class GpxLogDto {
     private String timestamp;
     private String latitude; // 위도
     private String longitude; // 경도
+    // 주행 모델을 켰을 때만 보낸다
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String speed; // 속도 (km/h)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String heading; // 진행 방향 (북쪽 0도, 시계 방향)
 }
@@ -0,0 +1,17 @@
+package com.example.emulator.application.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+@Builder
+@Getter
+@ToString
+public class LocationPublishStatsDto {
+    private String exchange;
+    private int queued; // 발행 대기 중인 배치
+    private long published;
+    private long publishedBytes;
+    private long dropped; // 대기 큐가 가득 차 버린 배치
+    private long failed; // 발행 중 오류로 버린 배치
+}
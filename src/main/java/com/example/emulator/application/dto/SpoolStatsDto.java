@@ -0,0 +1,19 @@
+package com.example.emulator.application.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+@Builder
+@Getter
+@ToString
+public class SpoolStatsDto {
+    private boolean enabled;
+    private long pendingBatches; // 재전송 대기 중인 배치 수
+    private long pendingBytes;
+    private int segments;
+    private long oldestAgeMillis; // 가장 오래된 대기 배치가 스풀에 들어간 뒤 지난 시간
+    private long replayed; // 재전송에 성공한 배치 수
+    private long dropped; // collector가 거부(재시도 불가 응답)해 버린 배치 수
+    private long retries; // 재전송 실패 후 다시 시도한 횟수
+}
@@ -0,0 +1,23 @@
+package com.example.emulator.application.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+@Builder
+@Getter
+@ToString
+public class TickStatsDto {
+    private int shard;
+    private int activeDrives;
+    private long ticks;
+    private long overruns; // 주기 안에 tick을 끝내지 못한 횟수
+    private long lastLagMicros; // 예정 시각 대비 tick 시작 지연
+    private long maxLagMicros;
+    private long lastTickMicros; // tick 한 번 처리에 걸린 시간
+    private long maxTickMicros;
+    private long skippedTicks; // 밀려서 건너뛴 tick 수 (이만큼 포인트 사이 시각 간격이 벌어짐)
+    private long simulatedEpochSecond; // 마지막 tick의 시뮬레이션 시각
+    private double requestedSpeed;
+    private double effectiveSpeed; // 실제로 처리한 시뮬레이션 시간 / 경과한 실제 시간
+}
@@ -0,0 +1,16 @@
+package com.example.emulator.application.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+@Builder
+@Getter
+@ToString
+public class UploadStatsDto {
+    private String circuitState; // CLOSED / OPEN / HALF_OPEN
+    private String queueFullPolicy;
+    private long retried; // 백오프 후 다시 보낸 횟수
+    private long spooled; // 디스크 스풀로 넘긴 배치 수
+    private long dropped; // 큐가 가득 차거나 스풀에 넣지 못해 버린 배치 수
+}
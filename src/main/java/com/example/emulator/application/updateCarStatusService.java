@@ -1,43 +1,120 @@
 package com.example.emulator.application;
 
 import com.example.emulator.car.CarStatus;
-import com.example.emulator.car.domain.CarEntity;
-import com.example.emulator.infrastructure.car.CarRepository;
+import com.example.emulator.car.CarStatusChange;
+import com.example.emulator.car.CarStatusListener;
+import com.example.emulator.car.CarStatusWriter;
+import com.example.emulator.config.CarStatusProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.dao.OptimisticLockingFailureException;
-import org.springframework.orm.ObjectOptimisticLockingFailureException;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 차량 상태 변경을 바로 DB에 쓰지 않고 차량별로 마지막 변경(이벤트 시각 기준)만 모아 두었다가
+ * 주기적으로 JDBC 배치 UPDATE 한 번으로 반영한다 (write-behind).
+ * 시동 ON/OFF가 몰려도 트랜잭션 수는 주기당 배치 수로 묶이고, 조회 후 저장하지 않으므로 낙관적 락 충돌/재시도가 없다.
+ * 종료 시에는 남은 변경을 모두 반영한다. {@link CarStatusListener}(차량 캐시 등)에는 변경 즉시, 그리고 DB 반영 뒤에 한 번 더 알린다.
+ */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class updateCarStatusService {
 
-    private final CarRepository carRepository;
-
-    @Async("dbExecutor")
-    @Transactional
-    @Retryable(
-            value = { OptimisticLockingFailureException.class, ObjectOptimisticLockingFailureException.class },
-            maxAttempts = 5,
-            backoff = @Backoff(delay = 100)
-    )
-    public void updateCarStatusAsync(String carNumber, CarStatus carStatus){
-        try{
-            CarEntity car = carRepository.findByCarNumber(carNumber)
-                    .orElseThrow(() -> new RuntimeException("car not found"));
-            car.setStatus(carStatus);
-            carRepository.save(car);
-            log.info("비동기로 차량 상태 변경 : {} -> {}", carNumber, carStatus);
-        }catch(OptimisticLockingFailureException e) {
-            log.warn("락 충돌 발생 재시도: {}", carNumber);
-            throw e;
+    private final CarStatusWriter carStatusWriter;
+    private final CarStatusProperties carStatusProperties;
+    private final List<CarStatusListener> carStatusListeners;
+
+    private final Map<String, CarStatusChange> pending = new ConcurrentHashMap<>();
+
+    private Thread flushThread;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        flushThread = new Thread(this::flushLoop, "carStatusFlush");
+        flushThread.setDaemon(true);
+        flushThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // JDBC 호출 중일 수 있으므로 인터럽트하지 않고 현재 주기가 끝나길 기다린다
+        running = false;
+        flushThread.join(carStatusProperties.getFlushIntervalMillis() + TimeUnit.SECONDS.toMillis(10));
+        flush();
+    }
+
+    // 호출 스레드를 블로킹하지 않는다. 실제 반영은 다음 flush 주기에 이루어진다
+    public void updateCarStatusAsync(String carNumber, CarStatus carStatus) {
+        updateCarStatusAsync(carNumber, carStatus, System.currentTimeMillis());
+    }
+
+    public void updateCarStatusAsync(String carNumber, CarStatus carStatus, long eventTimeMillis) {
+        CarStatusChange change = new CarStatusChange(carNumber, carStatus, eventTimeMillis);
+        if (pending.merge(carNumber, change, CarStatusChange::newer) == change) {
+            for (CarStatusListener listener : carStatusListeners) {
+                listener.onStatusChanged(carNumber, carStatus);
+            }
         }
+        log.debug("차량 상태 변경 예약 : {} -> {}", carNumber, carStatus);
     }
 
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    // 모아 둔 변경을 DB에 반영한다. 실패한 변경은 그 사이 들어온 더 새로운 변경이 없으면 다시 대기열에 넣는다
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<CarStatusChange> changes = new ArrayList<>(pending.size());
+        for (String carNumber : pending.keySet()) {
+            CarStatusChange change = pending.remove(carNumber);
+            if (change != null) {
+                changes.add(change);
+            }
+        }
+
+        int batchSize = Math.max(1, carStatusProperties.getBatchSize());
+        for (int from = 0; from < changes.size(); from += batchSize) {
+            List<CarStatusChange> batch = changes.subList(from, Math.min(from + batchSize, changes.size()));
+            try {
+                carStatusWriter.updateStatuses(batch);
+            } catch (Exception e) {
+                log.error("차량 상태 반영 실패 ({}건), 다음 주기에 재시도합니다", batch.size(), e);
+                for (CarStatusChange change : batch) {
+                    pending.merge(change.carNumber(), change, (current, failed) -> failed.newer(current));
+                }
+                continue;
+            }
+            for (CarStatusListener listener : carStatusListeners) {
+                listener.onStatusesWritten(batch);
+            }
+            log.info("차량 상태 {}건 반영", batch.size());
+        }
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                Thread.sleep(carStatusProperties.getFlushIntervalMillis());
+                flush();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("차량 상태 flush 중 오류", e);
+            }
+        }
+    }
 }
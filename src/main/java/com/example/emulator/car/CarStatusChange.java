@@ -0,0 +1,9 @@
+package com.example.emulator.car;
+
+// eventTimeMillis가 더 늦은 변경이 이긴다
+public record CarStatusChange(String carNumber, CarStatus status, long eventTimeMillis) {
+
+    public CarStatusChange newer(CarStatusChange other) {
+        return other.eventTimeMillis >= eventTimeMillis ? other : this;
+    }
+}
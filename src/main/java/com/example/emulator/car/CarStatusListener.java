@@ -0,0 +1,13 @@
+package com.example.emulator.car;
+
+import java.util.List;
+
+// 차량 상태 변경을 DB 반영 전에 통지받는다 (캐시 갱신 등)
+public interface CarStatusListener {
+
+    void onStatusChanged(String carNumber, CarStatus status);
+
+    // write-behind로 모아 둔 변경이 DB에 반영된 뒤 호출된다
+    default void onStatusesWritten(List<CarStatusChange> changes) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.emulator.car;
+
+import java.util.List;
+
+public interface CarStatusWriter {
+
+    // 차량번호별 상태를 한 번에 반영한다. 조회 없이 UPDATE만 수행하며 없는 차량은 무시된다
+    void updateStatuses(List<CarStatusChange> changes);
+}
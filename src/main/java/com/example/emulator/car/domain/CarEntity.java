@@ -10,7 +10,7 @@ import lombok.*;
 @Builder
 @ToString
 @Entity(name = "Car")
-@Table(name = "car")
+@Table(name = "car", indexes = @Index(name = "idx_car_login_id_car_id", columnList = "login_id, car_id"))
 
 public class CarEntity {
 
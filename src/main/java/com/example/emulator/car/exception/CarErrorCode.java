@@ -3,7 +3,8 @@ package com.example.emulator.car.exception;
 public enum CarErrorCode {
 
     CAR_NOT_FOUND_BY_NUMBER("해당 차량 ( %s )은 존재하지 않습니다. 다시 입력해주세요"),
-    NO_REGISTERED_CAR("등록된 차량이 존재하지 않습니다.");
+    NO_REGISTERED_CAR("등록된 차량이 존재하지 않습니다."),
+    CAR_OWNED_BY_OTHER_NODE("해당 차량 ( %s )은 다른 노드 ( %s, %s )가 담당합니다.");
 
     private final String message;
 
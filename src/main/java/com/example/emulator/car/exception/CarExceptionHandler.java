@@ -1,6 +1,9 @@
 package com.example.emulator.car.exception;
 import com.example.emulator.application.dto.ApiResponse;
+import com.example.emulator.cluster.ClusterForwardException;
 import com.example.emulator.controller.LogController;
+import com.example.emulator.route.NoRouteAvailableException;
+import com.example.emulator.route.RouteNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.annotation.Order;
@@ -22,4 +25,37 @@ public class CarExceptionHandler {
         var response = ApiResponse.fail(e.getMessage());
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }
+
+    // 시동 요청에 지정했거나 고정한 경로가 없을 때
+    @ExceptionHandler(RouteNotFoundException.class)
+    public ResponseEntity<ApiResponse<?>> handleRouteNotFoundException(RouteNotFoundException e, HttpServletRequest request) {
+
+        var response = ApiResponse.fail(e.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    }
+
+    // 로드된 GPX 경로가 하나도 없어 운행을 시작할 수 없을 때
+    @ExceptionHandler(NoRouteAvailableException.class)
+    public ResponseEntity<ApiResponse<?>> handleNoRouteAvailableException(NoRouteAvailableException e, HttpServletRequest request) {
+
+        var response = ApiResponse.fail(e.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    // 클러스터 모드에서 다른 노드가 담당하는 차량일 때 (reject 정책)
+    @ExceptionHandler(CarNotOwnedException.class)
+    public ResponseEntity<ApiResponse<?>> handleCarNotOwnedException(CarNotOwnedException e, HttpServletRequest request) {
+
+        var response = ApiResponse.fail(e.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    // 담당 노드로 넘긴 요청이 실패했을 때. 담당 노드의 4xx는 그대로, 나머지는 502
+    @ExceptionHandler(ClusterForwardException.class)
+    public ResponseEntity<ApiResponse<?>> handleClusterForwardException(ClusterForwardException e, HttpServletRequest request) {
+        log.warn(e.getMessage());
+        var response = ApiResponse.fail(e.getMessage());
+        HttpStatus status = e.getStatus() >= 400 && e.getStatus() < 500 ? HttpStatus.valueOf(e.getStatus()) : HttpStatus.BAD_GATEWAY;
+        return new ResponseEntity<>(response, status);
+    }
 }
@@ -0,0 +1,10 @@
+package com.example.emulator.car.exception;
+
+// 클러스터 모드에서 다른 노드가 담당하는 차량의 요청을 거부할 때
+public class CarNotOwnedException extends RuntimeException {
+
+    public CarNotOwnedException(CarErrorCode carErrorCode, Object... args) {
+        super(carErrorCode.format(args));
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.example.emulator.cluster;
+
+import lombok.Getter;
+
+// 담당 노드로 요청을 넘기지 못했거나 담당 노드가 실패를 응답한 경우
+@Getter
+public class ClusterForwardException extends RuntimeException {
+
+    private final String nodeId;
+    private final int status; // 담당 노드의 응답 코드 (응답을 받지 못했으면 0)
+
+    public ClusterForwardException(ClusterNode owner, int status, String message) {
+        super("담당 노드( " + owner.nodeId() + " ) 응답 " + status + ": " + message);
+        this.nodeId = owner.nodeId();
+        this.status = status;
+    }
+
+    public ClusterForwardException(ClusterNode owner, Throwable cause) {
+        super("담당 노드( " + owner.nodeId() + " )로 요청을 넘기지 못했습니다.", cause);
+        this.nodeId = owner.nodeId();
+        this.status = 0;
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.emulator.cluster;
+
+// 클러스터에 참여한 에뮬레이터 노드. baseUrl은 다른 노드가 요청을 넘길 때 사용한다
+public record ClusterNode(String nodeId, String baseUrl) {
+}
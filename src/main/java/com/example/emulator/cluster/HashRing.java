@@ -0,0 +1,73 @@
+package com.example.emulator.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 차량번호 → 담당 노드 consistent hash 링. 노드마다 virtualNodes개의 점을 링에 올리고,
+ * 차량번호 해시에서 시계 방향으로 처음 만나는 점의 노드가 담당한다.
+ * 노드가 들어오거나 나가면 해당 노드 몫(약 1/N)의 차량만 담당이 바뀐다.
+ * 해시는 JVM과 무관하게 같아야 하므로 FNV-1a 64비트 + 비트 섞기를 쓴다.
+ */
+public final class HashRing {
+
+    private final List<ClusterNode> nodes;
+    private final long[] points;
+    private final ClusterNode[] owners;
+
+    public HashRing(Collection<ClusterNode> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("노드가 없는 링은 만들 수 없습니다.");
+        }
+        this.nodes = nodes.stream().sorted(Comparator.comparing(ClusterNode::nodeId)).toList();
+
+        List<Point> ring = new ArrayList<>(this.nodes.size() * virtualNodes);
+        for (ClusterNode node : this.nodes) {
+            for (int v = 0; v < virtualNodes; v++) {
+                ring.add(new Point(hash(node.nodeId() + "#" + v), node));
+            }
+        }
+        ring.sort(Comparator.comparingLong(Point::hash));
+        this.points = new long[ring.size()];
+        this.owners = new ClusterNode[ring.size()];
+        for (int i = 0; i < ring.size(); i++) {
+            points[i] = ring.get(i).hash();
+            owners[i] = ring.get(i).node();
+        }
+    }
+
+    public ClusterNode ownerOf(String carNumber) {
+        int index = Arrays.binarySearch(points, hash(carNumber));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    // nodeId 순으로 정렬된 노드 목록
+    public List<ClusterNode> getNodes() {
+        return nodes;
+    }
+
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        // murmur3 fmix64: 비슷한 키(가상 노드 번호만 다른 경우 등)가 링에 고르게 퍼지게 한다
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private record Point(long hash, ClusterNode node) {
+    }
+}
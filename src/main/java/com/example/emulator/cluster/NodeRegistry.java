@@ -0,0 +1,14 @@
+package com.example.emulator.cluster;
+
+import java.util.List;
+
+// 노드 하트비트 저장소 (살아 있는 노드 판단은 저장소 시각 기준)
+public interface NodeRegistry {
+
+    void heartbeat(ClusterNode node);
+
+    // 마지막 하트비트가 timeoutMillis 이내인 노드
+    List<ClusterNode> findLiveNodes(long timeoutMillis);
+
+    void leave(String nodeId);
+}
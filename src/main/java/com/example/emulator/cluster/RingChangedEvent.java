@@ -0,0 +1,5 @@
+package com.example.emulator.cluster;
+
+// 살아 있는 노드 구성이 바뀌어 차량 담당 노드가 다시 계산되었을 때 발행된다
+public record RingChangedEvent(HashRing ring) {
+}
@@ -0,0 +1,29 @@
+package com.example.emulator.cluster.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 클러스터 노드 하트비트 테이블 (읽기/쓰기는 NodeRegistryImpl의 JDBC로 하고 엔티티는 스키마 정의용)
+@Entity(name = "EmulatorNode")
+@Table(name = "emulator_node")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class EmulatorNodeEntity {
+
+    @Id
+    @Column(name = "node_id", length = 100)
+    private String nodeId;
+
+    @Column(name = "base_url", nullable = false)
+    private String baseUrl;
+
+    @Column(name = "heartbeat_at", nullable = false, columnDefinition = "DATETIME(6)")
+    private LocalDateTime heartbeatAt;
+}
@@ -1,37 +0,0 @@
-package com.example.emulator.config;
-
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
-
-import java.util.concurrent.Executor;
-
-@Configuration
-@EnableAsync
-public class AsyncConfig {
-
-
-    @Bean(name = "rabbitDriveLogEvent")
-    public Executor rabbitEventExecutor(){
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(50);
-        executor.setMaxPoolSize(100);
-        executor.setQueueCapacity(200);
-        executor.setThreadNamePrefix("rabbitDriveLogEvent-");
-        executor.initialize();
-        return executor;
-    }
-
-    @Bean(name = "dbExecutor")
-    public Executor dbExecutor(){
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(50);
-        executor.setMaxPoolSize(100);
-        executor.setQueueCapacity(200);
-        executor.setThreadNamePrefix("DB-Update-");
-        executor.initialize();
-        return executor;
-    }
-
-}
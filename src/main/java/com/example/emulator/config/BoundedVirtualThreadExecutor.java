@@ -0,0 +1,50 @@
+package com.example.emulator.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 작업마다 가상 스레드를 만들되, 끝나지 않은 작업 수가 상한이면 기다리지 않고 {@link RejectedExecutionException}으로 거절한다.
+ * 고정 풀 모드의 거절(스레드 수 + 큐 길이)과 같은 자리에서 거절되므로 호출 측의 큐 가득 참 정책이 두 모드에 똑같이 적용된다.
+ */
+public final class BoundedVirtualThreadExecutor implements Executor {
+
+    private final ThreadFactory threadFactory;
+    private final int maxTasks;
+    private final Semaphore permits;
+    private final Runnable onRejected;
+
+    public BoundedVirtualThreadExecutor(String threadNamePrefix, int maxTasks, Runnable onRejected) {
+        this.threadFactory = Thread.ofVirtual().name(threadNamePrefix, 0).factory();
+        this.maxTasks = Math.max(1, maxTasks);
+        this.permits = new Semaphore(this.maxTasks);
+        this.onRejected = onRejected;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (!permits.tryAcquire()) {
+            onRejected.run();
+            throw new RejectedExecutionException("진행 중인 작업이 상한(" + maxTasks + ")에 도달했습니다");
+        }
+        try {
+            threadFactory.newThread(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            }).start();
+        } catch (RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // 시작했지만 끝나지 않은 작업 수
+    public int active() {
+        return maxTasks - permits.availablePermits();
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.emulator.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// CarReader 앞단 캐시 설정 (car.reader.db.enabled=true 일 때만 사용)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "car.reader.cache")
+public class CarCacheProperties {
+
+    private boolean enabled = true;
+    // 차량번호별 최대 항목 수 / loginId별 목록에 담긴 차량 수 합계 (넘치면 가장 오래 쓰지 않은 항목부터 제거)
+    private int maxCars = 10_000;
+    private int maxListedCars = 50_000;
+    // 항목을 DB에서 다시 읽기까지의 시간
+    private long ttlSeconds = 60;
+}
@@ -0,0 +1,17 @@
+package com.example.emulator.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// 차량 상태 변경 write-behind 설정
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "emulator.car-status")
+public class CarStatusProperties {
+
+    // 모아 둔 상태 변경을 DB에 반영하는 주기
+    private long flushIntervalMillis = 500;
+    // UPDATE 배치 하나에 담을 최대 건수
+    private int batchSize = 500;
+}
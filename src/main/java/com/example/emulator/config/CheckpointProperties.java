@@ -0,0 +1,19 @@
+package com.example.emulator.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// 운행 중인 차량의 재생 위치/미전송 버퍼 체크포인트 (재시작 시 이어서 재생)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "emulator.checkpoint")
+public class CheckpointProperties {
+
+    // 기본은 꺼짐. 켜면 intervalMillis마다 file에 스냅샷을 쓴다
+    private boolean enabled = false;
+    private String file = "data/checkpoint/drives.snapshot";
+    private long intervalMillis = 10_000;
+    // 이보다 오래된 체크포인트는 복원하지 않는다
+    private long maxAgeSeconds = 3600;
+}
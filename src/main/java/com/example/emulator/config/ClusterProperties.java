@@ -0,0 +1,34 @@
+package com.example.emulator.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// 여러 에뮬레이터 노드가 차량을 나눠 맡는 클러스터 모드 (노드 목록은 MySQL emulator_node 테이블로 공유)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "emulator.cluster")
+public class ClusterProperties {
+
+    private boolean enabled = false;
+    // 비어 있으면 시작할 때 무작위로 정한다
+    private String nodeId;
+    // 다른 노드가 이 노드로 요청을 넘길 때 쓰는 주소 (예: http://10.0.0.12:8081)
+    private String advertisedUrl;
+
+    private long heartbeatIntervalMillis = 2000;
+    // 마지막 하트비트가 이보다 오래된 노드는 빠진 것으로 보고 담당 차량을 나눠 가진다
+    private long nodeTimeoutMillis = 10_000;
+    private int virtualNodes = 128;
+
+    // 다른 노드가 담당하는 차량의 시동 요청 처리
+    private NotOwnedPolicy notOwnedPolicy = NotOwnedPolicy.FORWARD;
+    // 담당이 넘어온 차량 중 DB 상태가 운행인 차량을 이어서 재생한다
+    private boolean adoptOnRebalance = true;
+
+    private long forwardTimeoutMillis = 5000;
+
+    public enum NotOwnedPolicy {
+        FORWARD, REJECT
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.emulator.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.http.HttpClient;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "emulator.collector")
+public class CollectorProperties {
+
+    private String baseUrl = "http://43.203.110.104:8080";
+    private String path = "/api/logs/gps";
+
+    // HTTP 연결은 keep-alive로 재사용된다. HTTP_2는 collector가 h2c를 지원할 때만 의미가 있다
+    private HttpClient.Version httpVersion = HttpClient.Version.HTTP_1_1;
+    private long connectTimeoutMillis = 3000;
+    // 요청 전송부터 응답 수신까지의 제한 시간
+    private long requestTimeoutMillis = 10_000;
+    // 동시에 진행 중인 요청 수 상한 (= 열려 있는 연결 수 상한)
+    private int maxInFlight = 64;
+
+    // 차량별 배치 기준: 포인트 수 또는 가장 오래된 포인트의 대기 시간 중 먼저 도달하는 쪽
+    private int batchSize = 60;
+    private long maxLatencySeconds = 60;
+
+    private Compression compression = Compression.NONE;
+    // 이보다 작은 본문은 압축하지 않는다
+    private int compressionMinBytes = 1024;
+
+    private PayloadFormat payloadFormat = PayloadFormat.JSON;
+
+    private Aggregation aggregation = new Aggregation();
+
+    // 전송 단계 큐(전송 스레드 풀, 집계 레인)가 가득 찼을 때의 처리
+    private QueueFullPolicy queueFullPolicy = QueueFullPolicy.SPILL;
+
+    private Retry retry = new Retry();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    // 재시도 가능한 실패(연결 오류, 408/429/5xx)는 지터를 섞은 지수 백오프로 다시 보낸 뒤, 그래도 실패하면 스풀로 넘긴다
+    @Getter
+    @Setter
+    public static class Retry {
+        private int maxAttempts = 3; // 첫 시도 포함
+        private long initialBackoffMillis = 200;
+        private long maxBackoffMillis = 5000;
+    }
+
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+        // 연속 실패가 이만큼 쌓이면 openMillis 동안 요청을 보내지 않는다
+        private int failureThreshold = 5;
+        private long openMillis = 10_000;
+    }
+
+    // 여러 차량의 배치를 하나의 요청(envelope)으로 묶어 보내는 설정 (collector가 지원하는 경우)
+    @Getter
+    @Setter
+    public static class Aggregation {
+        private boolean enabled = false;
+        private String path = "/api/logs/gps/batch";
+        // envelope 하나에 담을 최대 차량 배치 수 / 압축 전 바이트 수
+        private int maxBatches = 500;
+        private int maxBytes = 1024 * 1024;
+        // 첫 배치가 들어온 뒤 이 시간이 지나면 채워지지 않아도 전송
+        private long maxDelayMillis = 1000;
+        // 차량번호 해시로 나눈 전송 레인 수 (레인 안에서는 순서대로 전송)
+        private int lanes = 4;
+        private int queueCapacity = 10_000;
+    }
+
+    public enum QueueFullPolicy {
+        SPILL, // 직렬화해 디스크 스풀에 넣는다 (스풀이 꺼져 있으면 DROP_NEWEST)
+        DROP_OLDEST, // 큐에서 가장 오래 기다린 배치를 버리고 새 배치를 넣는다
+        DROP_NEWEST // 새 배치를 버린다
+    }
+
+    public enum Compression {
+        NONE,
+        GZIP
+    }
+
+    public enum PayloadFormat {
+        JSON, // 기존 GpxRequestDto 형식
+        COMPACT // 열 단위 + 델타 인코딩 (collector가 지원하는 경우)
+    }
+}
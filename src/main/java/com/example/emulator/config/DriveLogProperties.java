@@ -0,0 +1,31 @@
+package com.example.emulator.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// 운행 이벤트(drive.log.*) RabbitMQ 발행 설정
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "emulator.drive-log")
+public class DriveLogProperties {
+
+    // AMQP: RabbitMQ로 발행, MEMORY: 발행하지 않고 메모리에 집계 (브로커 없이 실행할 때)
+    private Publisher publisher = Publisher.AMQP;
+
+    // 발행 대기 큐 크기. 가득 차면 새 이벤트는 버려지고 dropped로 집계된다
+    private int queueCapacity = 100_000;
+    // 채널 하나로 이어서 발행할 최대 이벤트 수와, 첫 이벤트 이후 더 모으기 위해 기다리는 시간
+    private int batchSize = 500;
+    private long lingerMillis = 20;
+    // nack/확인 시간 초과 시 재발행 횟수 상한 (첫 발행 포함). 브로커 연결 실패는 세지 않고 계속 재시도한다
+    private int maxAttempts = 5;
+    private long confirmTimeoutMillis = 30_000;
+    // 재발행 전 대기 시간 상한 (실패할 때마다 두 배, 최대값까지. 실제 대기는 0 ~ 상한 사이 무작위)
+    private long initialBackoffMillis = 200;
+    private long maxBackoffMillis = 10_000;
+
+    public enum Publisher {
+        AMQP, MEMORY
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.emulator.config;
+
+// 배치 전송 작업을 실행할 스레드 종류
+public enum ExecutorMode {
+    PLATFORM,
+    VIRTUAL
+}
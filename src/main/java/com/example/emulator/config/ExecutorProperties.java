@@ -0,0 +1,15 @@
+package com.example.emulator.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "emulator.executor")
+public class ExecutorProperties {
+
+    // 배치 전송 풀(gpxFlushExecutor)에만 적용된다. 상태 변경과 운행 이벤트 발행은 각자의 전용 스레드를 쓴다
+    // platform: 고정 크기 스레드 풀, virtual: 작업마다 가상 스레드 (같은 부하에서 비교용, 동시 작업 수 상한은 같다)
+    private ExecutorMode mode = ExecutorMode.PLATFORM;
+}
@@ -0,0 +1,28 @@
+package com.example.emulator.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "emulator.fleet")
+public class FleetProperties {
+
+    // 차량 tick을 나눠 처리할 전용 스레드 수
+    private int tickShards = 1;
+
+    // 위치 생성 주기 (시뮬레이션 시간 기준. 포인트 사이 시각 간격)
+    private long tickPeriodMillis = 1000;
+
+    // 배속: 실제 tick 간격은 tickPeriodMillis / speedMultiplier (예: 60이면 1시간 경로를 1분에 재생)
+    private double speedMultiplier = 1.0;
+    // 운행마다의 시뮬레이션 시계 시작 시각 (비어 있으면 운행의 첫 tick 실제 시각). 지정하면 shard나 시동 시점과 관계없이 실행마다 같은 시각이 생성된다
+    private Instant clockStart;
+
+    // 배치 전송(I/O 단계) 스레드 풀 설정. 가상 스레드 모드는 두 값의 합을 동시 작업 수 상한으로 쓴다
+    private int flushPoolSize = 50;
+    private int flushQueueCapacity = 10_000;
+}
@@ -0,0 +1,51 @@
+package com.example.emulator.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// 위치 배치를 내보낼 곳과 구현별 설정
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "emulator.location")
+public class LocationProperties {
+
+    private Sink sink = Sink.HTTP;
+
+    private Amqp amqp = new Amqp();
+    private Memory memory = new Memory();
+
+    public enum Sink {
+        HTTP, AMQP, MEMORY
+    }
+
+    @Getter
+    @Setter
+    public static class Amqp {
+        private String exchange = "location.exchange";
+        // CAR_NUMBER: {prefix}{차량번호}, SHARD: {prefix}{차량번호 해시 % shards} (소비자를 샤드 단위로 나눌 때)
+        private RoutingKey routingKey = RoutingKey.CAR_NUMBER;
+        private String routingKeyPrefix = "location.";
+        private int shards = 16;
+        // JSON: emulator.collector.payload-format 형식의 JSON, BINARY: LocationBinaryCodec 형식
+        private Encoding encoding = Encoding.BINARY;
+        // 발행 대기 큐 크기 (가득 차면 버린다)와 채널 하나로 이어서 발행할 배치 수
+        private int queueCapacity = 10_000;
+        private int publishBatchSize = 200;
+    }
+
+    @Getter
+    @Setter
+    public static class Memory {
+        // 보관할 최대 배치 수 (넘으면 새 배치는 버린다)
+        private int maxBatches = 100_000;
+    }
+
+    public enum RoutingKey {
+        CAR_NUMBER, SHARD
+    }
+
+    public enum Encoding {
+        JSON, BINARY
+    }
+}
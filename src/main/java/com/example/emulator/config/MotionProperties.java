@@ -0,0 +1,38 @@
+package com.example.emulator.config;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+// 0 이하의 속도·가감속은 차량이 움직이지 않아 운행이 끝나지 않으므로 기동 시 거부한다
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "emulator.motion")
+public class MotionProperties {
+
+    // 꺼져 있으면 tick마다 경로 포인트를 하나씩 그대로 재생한다
+    private boolean enabled = false;
+
+    // 순항 속도와 차량별 편차 (0.2면 ±20% 안에서 차량마다 정해진다)
+    @Positive
+    private double cruiseSpeedKmh = 50;
+    @PositiveOrZero
+    @DecimalMax(value = "1", inclusive = false)
+    private double speedVariation = 0.2;
+
+    // 가속/감속 (m/s²)
+    @Positive
+    private double acceleration = 1.5;
+    @Positive
+    private double deceleration = 2.5;
+
+    // 신호 대기 등 정차: 평균 간격(m)과 평균 정차 시간(초). 실제 값은 정차마다 0.5~1.5배 (간격이 0이면 정차하지 않음)
+    private double stopIntervalMeters = 800;
+    @PositiveOrZero
+    private double stopSeconds = 20;
+}
@@ -0,0 +1,30 @@
+package com.example.emulator.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "emulator.route")
+public class RouteProperties {
+
+    // classpath 경로 외에 추가로 읽을 GPX 디렉터리 (비어 있으면 사용하지 않음)
+    private String externalDir;
+
+    // 경로/시작 위치 선택 seed. 같은 seed와 차량번호면 실행마다 같은 경로·위치를 고른다 (비어 있으면 실행마다 무작위)
+    private Long seed;
+
+    // 시작 위치를 고를 때 경로 끝에 최소한 남겨 둘 포인트 수
+    private int minRemainingPoints = 300;
+
+    // 업로드 한 건의 본문 크기와 포인트 수 상한 (넘으면 400으로 거절)
+    private long maxUploadBytes = 32L * 1024 * 1024;
+    private int maxUploadPoints = 1_000_000;
+
+    // 차량번호별 고정 경로 (GPX 파일명)
+    private Map<String, String> pinned = new HashMap<>();
+}
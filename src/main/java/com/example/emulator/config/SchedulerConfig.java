@@ -1,17 +1,54 @@
 package com.example.emulator.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 @Configuration
+@EnableConfigurationProperties({FleetProperties.class, RouteProperties.class, CarStatusProperties.class,
+        CarCacheProperties.class, LocationProperties.class, ClusterProperties.class,
+        CheckpointProperties.class, MotionProperties.class, ExecutorProperties.class})
 public class SchedulerConfig {
 
-    @Bean(name = "gpxSchedulerPool")
-    public ScheduledExecutorService gpxSchedulerPool(){
-        return Executors.newScheduledThreadPool(50);
+    // tick 스레드에서 넘겨받은 배치 전송을 처리하는 I/O 풀 (풀 모드는 큐 길이·활성 스레드·거절 수를 계측한다)
+    // 가상 스레드 모드도 풀 크기 + 큐 길이만큼만 받아 두고 넘치면 거절한다 (전송 큐 가득 참 정책이 그대로 적용됨)
+    @Bean(name = "gpxFlushExecutor")
+    public Executor gpxFlushExecutor(FleetProperties fleetProperties, ExecutorProperties executorProperties,
+                                     MeterRegistry meterRegistry){
+        Counter rejected = Counter.builder("emulator.executor.rejected")
+                .description("큐가 가득 차 거절된 작업 수")
+                .tag("name", "gpxFlush")
+                .register(meterRegistry);
+        if (executorProperties.getMode() == ExecutorMode.VIRTUAL) {
+            BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("gpxFlush-",
+                    fleetProperties.getFlushPoolSize() + fleetProperties.getFlushQueueCapacity(), rejected::increment);
+            Gauge.builder("emulator.executor.active", executor, BoundedVirtualThreadExecutor::active)
+                    .description("실행 중이거나 기다리는 가상 스레드 작업 수")
+                    .tag("name", "gpxFlush")
+                    .register(meterRegistry);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(fleetProperties.getFlushPoolSize());
+        executor.setMaxPoolSize(fleetProperties.getFlushPoolSize());
+        executor.setQueueCapacity(fleetProperties.getFlushQueueCapacity());
+        executor.setThreadNamePrefix("gpxFlush-");
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            throw new RejectedExecutionException("gpxFlush 큐가 가득 찼습니다");
+        });
+        executor.initialize();
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "gpxFlush", List.of()).bindTo(meterRegistry);
+        return executor;
     }
 
 }
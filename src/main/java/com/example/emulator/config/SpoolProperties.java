@@ -0,0 +1,28 @@
+package com.example.emulator.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// collector 전송에 실패했거나 밀린 배치를 보관하는 디스크 스풀 (꺼져 있으면 SPILL 정책은 DROP_NEWEST로 동작)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "emulator.spool")
+public class SpoolProperties {
+
+    // 기본은 꺼짐. 켜면 dir 아래에 세그먼트 파일을 mmap으로 만든다
+    private boolean enabled = false;
+    private String dir = "data/spool";
+
+    // 세그먼트 파일 하나의 크기와 최대 개수 (디스크 사용량 상한 = 두 값의 곱)
+    private int segmentBytes = 64 * 1024 * 1024;
+    private int maxSegments = 64;
+
+    // 재전송 속도 상한 (초당 요청 수)
+    private int drainRatePerSecond = 50;
+    // 재전송 실패 시 대기 시간 상한 (실패할 때마다 두 배, 최대값까지. 실제 대기는 0 ~ 상한 사이 무작위)
+    private long retryInitialMillis = 1000;
+    private long retryMaxMillis = 30_000;
+    // 세그먼트/체크포인트를 디스크에 동기화하는 주기
+    private long forceIntervalMillis = 1000;
+}
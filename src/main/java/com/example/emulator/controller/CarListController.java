@@ -2,14 +2,22 @@ package com.example.emulator.controller;
 
 import com.example.emulator.application.CarListService;
 import com.example.emulator.application.dto.ApiResponse;
+import com.example.emulator.application.dto.CarSummaryDto;
 import com.example.emulator.car.domain.CarEntity;
+import com.example.emulator.controller.dto.CursorPageResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @Slf4j
@@ -18,15 +26,47 @@ import java.util.List;
 @RequestMapping("/api/list")
 public class CarListController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final CarListService carListService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping()
     public ApiResponse<List<CarEntity>> getCarList(
             @RequestParam("loginId") String loginId
     ){
         List<CarEntity> carEntityList= carListService.getCarList(loginId);
-        log.info(carEntityList.toString());
+        log.info("차량 목록 조회: {} ({}대)", loginId, carEntityList.size());
         return ApiResponse.success(carEntityList);
     }
 
+    // keyset 페이지 조회. 첫 페이지는 after 없이, 다음 페이지는 응답의 nextCursor를 after로 전달
+    @GetMapping("/page")
+    public ApiResponse<CursorPageResponse<CarSummaryDto>> getCarPage(
+            @RequestParam("loginId") String loginId,
+            @RequestParam(value = "after", required = false) Integer after,
+            @RequestParam(value = "size", required = false) Integer size
+    ){
+        return ApiResponse.success(carListService.getCarPage(loginId, after, size));
+    }
+
+    // 전체 목록 내보내기: 한 줄에 차량 하나씩 NDJSON으로 흘려보낸다
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamCarList(
+            @RequestParam("loginId") String loginId
+    ){
+        StreamingResponseBody body = out -> carListService.forEachCarPage(loginId, page -> {
+            try {
+                for (CarSummaryDto car : page) {
+                    out.write(objectMapper.writeValueAsBytes(car));
+                    out.write('\n');
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
 }
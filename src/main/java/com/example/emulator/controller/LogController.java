@@ -1,12 +1,17 @@
 package com.example.emulator.controller;
 
+import com.example.emulator.application.FleetIgnitionService;
 import com.example.emulator.application.LogService;
 import com.example.emulator.application.dto.ApiResponse;
+import com.example.emulator.application.dto.BulkPowerResultDto;
+import com.example.emulator.controller.dto.BulkPowerDto;
 import com.example.emulator.controller.dto.LogPowerDto;
+import com.example.emulator.infrastructure.cluster.ClusterForwarder;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -16,16 +21,33 @@ import org.springframework.web.bind.annotation.RestController;
 public class LogController {
 
     private final LogService logService;
+    private final FleetIgnitionService fleetIgnitionService;
 
     // 애뮬레이터 시동 정보 로그
     @PostMapping("/power")
     public ApiResponse<LogPowerDto> powerLog(
             @Valid
             @RequestBody
-            LogPowerDto logPowerDto
+            LogPowerDto logPowerDto,
+            @RequestHeader(value = ClusterForwarder.FORWARDED_HEADER, required = false)
+            String forwardedBy
     ) {
-        LogPowerDto response =  logService.changePowerStatus(logPowerDto);
+        LogPowerDto response =  logService.changePowerStatus(logPowerDto, forwardedBy);
 
         return ApiResponse.success( "시동 로그가 성공적으로 저장되었습니다.", response);
     }
+
+    // 여러 차량 시동 ON/OFF (요청 즉시 응답하고 ratePerSecond 속도로 순차 처리)
+    @PostMapping("/power/bulk")
+    public ApiResponse<BulkPowerResultDto> bulkPowerLog(
+            @Valid
+            @RequestBody
+            BulkPowerDto bulkPowerDto,
+            @RequestHeader(value = ClusterForwarder.FORWARDED_HEADER, required = false)
+            String forwardedBy
+    ) {
+        BulkPowerResultDto response = fleetIgnitionService.changePowerStatus(bulkPowerDto, forwardedBy);
+
+        return ApiResponse.success("대량 시동 요청이 접수되었습니다.", response);
+    }
 }
@@ -0,0 +1,82 @@
+package com.example.emulator.controller;
+
+import com.example.emulator.application.ClusterService;
+import com.example.emulator.application.DriveLogPublisher;
+import com.example.emulator.application.FleetTickEngine;
+import com.example.emulator.application.GpxSpoolDrainer;
+import com.example.emulator.application.GpxUploader;
+import com.example.emulator.application.dto.ApiResponse;
+import com.example.emulator.application.dto.CarCacheStatsDto;
+import com.example.emulator.application.dto.ClusterStatsDto;
+import com.example.emulator.application.dto.DriveLogStatsDto;
+import com.example.emulator.application.dto.LocationPublishStatsDto;
+import com.example.emulator.application.dto.SpoolStatsDto;
+import com.example.emulator.application.dto.TickStatsDto;
+import com.example.emulator.application.dto.UploadStatsDto;
+import com.example.emulator.infrastructure.car.CachingCarReader;
+import com.example.emulator.infrastructure.location.AmqpLocationSink;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/monitor")
+public class MonitorController {
+
+    private final FleetTickEngine fleetTickEngine;
+    private final GpxSpoolDrainer gpxSpoolDrainer;
+    private final GpxUploader gpxUploader;
+    private final ObjectProvider<CachingCarReader> cachingCarReader;
+    private final DriveLogPublisher driveLogPublisher;
+    private final ObjectProvider<AmqpLocationSink> amqpLocationSink;
+    private final ClusterService clusterService;
+
+    // tick 샤드별 지연/처리 시간
+    @GetMapping("/tick")
+    public ApiResponse<List<TickStatsDto>> getTickStats() {
+        return ApiResponse.success(fleetTickEngine.getTickStats());
+    }
+
+    // collector 차단기 상태와 재시도/스풀/버림 횟수
+    @GetMapping("/upload")
+    public ApiResponse<UploadStatsDto> getUploadStats() {
+        return ApiResponse.success(gpxUploader.getStats());
+    }
+
+    // 재전송 스풀 적재량과 가장 오래된 배치의 나이
+    @GetMapping("/spool")
+    public ApiResponse<SpoolStatsDto> getSpoolStats() {
+        return ApiResponse.success(gpxSpoolDrainer.getStats());
+    }
+
+    // 차량 캐시 적중/미스 (car.reader.cache.enabled=false 이면 data 없음)
+    @GetMapping("/car-cache")
+    public ApiResponse<CarCacheStatsDto> getCarCacheStats() {
+        CachingCarReader reader = cachingCarReader.getIfAvailable();
+        return ApiResponse.success(reader != null ? reader.getStats() : null);
+    }
+
+    // 운행 이벤트 발행/확인/nack 횟수, 미확인 건수와 확인 지연
+    @GetMapping("/drive-log")
+    public ApiResponse<DriveLogStatsDto> getDriveLogStats() {
+        return ApiResponse.success(driveLogPublisher.getStats());
+    }
+
+    // 위치 배치 RabbitMQ 발행량 (emulator.location.sink=amqp 가 아니면 data 없음)
+    @GetMapping("/location")
+    public ApiResponse<LocationPublishStatsDto> getLocationStats() {
+        AmqpLocationSink sink = amqpLocationSink.getIfAvailable();
+        return ApiResponse.success(sink != null ? sink.getStats() : null);
+    }
+
+    // 클러스터 노드 구성과 이 노드에서 재생 중인 차량 수
+    @GetMapping("/cluster")
+    public ApiResponse<ClusterStatsDto> getClusterStats() {
+        return ApiResponse.success(clusterService.getStats());
+    }
+}
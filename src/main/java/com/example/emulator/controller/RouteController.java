@@ -0,0 +1,44 @@
+package com.example.emulator.controller;
+
+import com.example.emulator.application.RouteService;
+import com.example.emulator.application.dto.ApiResponse;
+import com.example.emulator.controller.dto.RouteDto;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/routes")
+public class RouteController {
+
+    private final RouteService routeService;
+
+    @GetMapping()
+    public ApiResponse<List<RouteDto>> getRoutes() {
+        return ApiResponse.success(routeService.getRoutes());
+    }
+
+    // GPX 파일 본문을 그대로 전송 (Content-Type 무관)
+    @PostMapping()
+    public ResponseEntity<ApiResponse<?>> uploadRoute(
+            @RequestParam("name") String name,
+            HttpServletRequest request
+    ) throws IOException {
+        try {
+            RouteDto response = routeService.uploadRoute(name, request.getInputStream());
+            return ResponseEntity.ok(ApiResponse.success("경로가 등록되었습니다.", response));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(ApiResponse.fail(e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+}
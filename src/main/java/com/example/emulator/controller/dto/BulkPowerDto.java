@@ -0,0 +1,48 @@
+package com.example.emulator.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.*;
+
+import java.util.List;
+
+// 여러 차량 시동 ON/OFF. carNumbers 또는 loginId(+count) 중 하나로 대상을 고른다
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkPowerDto {
+
+    @NotBlank
+    @Pattern(regexp = "ON|OFF")
+    private String powerStatus;
+
+    private List<String> carNumbers;
+
+    // carNumbers가 없을 때: 이 loginId의 차량 중 car_id 순으로 앞에서부터 count대 (없으면 전체)
+    private String loginId;
+
+    @Positive
+    private Integer count;
+
+    // 초당 처리할 차량 수 (없으면 500). 클러스터 모드에서는 클러스터 전체 기준
+    @Positive
+    private Integer ratePerSecond;
+
+    @Positive
+    private Integer batchSize;
+
+    @Positive
+    private Integer maxLatencySeconds;
+
+    @JsonIgnore
+    @AssertTrue(message = "carNumbers 또는 loginId가 필요합니다")
+    public boolean isTargetSpecified() {
+        return (carNumbers != null && !carNumbers.isEmpty()) || (loginId != null && !loginId.isBlank());
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.emulator.controller.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+// keyset(seek) 페이지. 다음 페이지는 nextCursor를 after로 넘겨 조회한다 (마지막 페이지면 null)
+@Getter
+public class CursorPageResponse<T> {
+
+    private final List<T> content;
+    private final Integer nextCursor;
+    private final boolean last;
+
+    public CursorPageResponse(List<T> content, Integer nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.last = nextCursor == null;
+    }
+}
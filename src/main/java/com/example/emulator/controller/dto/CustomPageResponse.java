@@ -1,22 +0,0 @@
-package com.example.emulator.controller.dto;
-
-import lombok.Getter;
-import org.springframework.data.domain.Page;
-
-import java.util.List;
-
-@Getter
-public class CustomPageResponse<T> {
-
-    private final List<T> content;
-    private final int totalPages;
-    private final long totalElements;
-    private final boolean last;
-
-    public CustomPageResponse(Page<T> page){
-        this.content = page.getContent();
-        this.totalPages = page.getTotalPages();
-        this.totalElements = page.getTotalElements();
-        this.last = page.isLast();
-    }
-}
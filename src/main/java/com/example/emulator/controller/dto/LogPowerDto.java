@@ -1,6 +1,7 @@
 package com.example.emulator.controller.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
 import lombok.*;
 
 @Getter
@@ -18,4 +19,14 @@ public class LogPowerDto {
 
     @NotBlank
     private String powerStatus;
+
+    // 선택: 이 차량만 배치 기준을 바꿀 때 (없으면 emulator.collector 설정 사용)
+    @Positive
+    private Integer batchSize;
+
+    @Positive
+    private Integer maxLatencySeconds;
+
+    // 선택: 재생할 경로(GPX 파일명)를 고정할 때. 경로 처음부터 재생한다
+    private String routeName;
 }
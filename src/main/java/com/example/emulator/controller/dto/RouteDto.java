@@ -0,0 +1,21 @@
+package com.example.emulator.controller.dto;
+
+import com.example.emulator.route.GpxRoute;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+@Builder
+public class RouteDto {
+    private int routeId;
+    private String name;
+    private int points;
+
+    public static RouteDto from(GpxRoute route) {
+        return new RouteDto(route.getId(), route.getName(), route.size());
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.emulator.infrastructure.car;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * 무게 합과 TTL로 제한되는 LRU 캐시. 무게 합이 넘으면 가장 오래 쓰지 않은 항목부터, 조회 시점에 만료된 항목은 그 자리에서 제거한다.
+ * 무게는 기본적으로 항목마다 1이고, 목록처럼 크기가 제각각인 값은 weigher로 원소 수 등을 준다.
+ * 혼자서 상한을 넘는 항목은 보관하지 않는다.
+ */
+class BoundedCache<K, V> {
+
+    private final long maxWeight;
+    private final long ttlNanos;
+    private final ToIntFunction<V> weigher;
+    private final Map<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    BoundedCache(int maxSize, long ttlNanos) {
+        this(maxSize, ttlNanos, value -> 1);
+    }
+
+    BoundedCache(long maxWeight, long ttlNanos, ToIntFunction<V> weigher) {
+        this.maxWeight = Math.max(1, maxWeight);
+        this.ttlNanos = ttlNanos;
+        this.weigher = weigher;
+    }
+
+    synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && System.nanoTime() - entry.expiresAtNanos() >= 0) {
+            remove(key);
+            evictions++;
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value();
+    }
+
+    synchronized void put(K key, V value) {
+        remove(key);
+        int valueWeight = weigher.applyAsInt(value);
+        if (valueWeight > maxWeight) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, valueWeight, System.nanoTime() + ttlNanos));
+        weight += valueWeight;
+        for (Iterator<Entry<V>> it = entries.values().iterator(); weight > maxWeight && it.hasNext(); ) {
+            weight -= it.next().weight();
+            it.remove();
+            evictions++;
+        }
+    }
+
+    // 캐시에 있는 항목만 바꾼다 (만료 시각은 유지)
+    synchronized void computeIfPresent(K key, UnaryOperator<V> update) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            V updated = update.apply(entry.value());
+            int updatedWeight = weigher.applyAsInt(updated);
+            entries.put(key, new Entry<>(updated, updatedWeight, entry.expiresAtNanos()));
+            weight += updatedWeight - entry.weight();
+        }
+    }
+
+    synchronized void invalidate(K key) {
+        remove(key);
+    }
+
+    // 무게 합 (크기 제한 캐시면 항목 수)
+    synchronized long weight() {
+        return weight;
+    }
+
+    private void remove(K key) {
+        Entry<V> removed = entries.remove(key);
+        if (removed != null) {
+            weight -= removed.weight();
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long getHits() {
+        return hits;
+    }
+
+    synchronized long getMisses() {
+        return misses;
+    }
+
+    synchronized long getEvictions() {
+        return evictions;
+    }
+
+    private record Entry<V>(V value, int weight, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.emulator.infrastructure.car;
+
+import com.example.emulator.application.dto.CarCacheStatsDto;
+import com.example.emulator.car.CarReader;
+import com.example.emulator.car.CarStatus;
+import com.example.emulator.car.CarStatusChange;
+import com.example.emulator.car.CarStatusListener;
+import com.example.emulator.car.domain.CarEntity;
+import com.example.emulator.config.CarCacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link CarReaderImpl} 앞단 캐시. 차량번호별 차량(항목 수)과 loginId별 차량 목록(목록에 담긴 차량 수 합계)을 TTL 제한 LRU로 보관한다.
+ * 상태 변경은 DB 반영(write-behind)을 기다리지 않고 캐시에 바로 반영하고, DB에 반영될 때까지 따로 들고 있다가
+ * 그 사이 DB에서 새로 읽은 항목에도 덮어쓴다. 읽는 동안 반영이 끝났으면 읽은 값은 캐시에 넣지 않는다.
+ * 엔티티는 복사본을 저장하고 복사본을 돌려주므로 호출자가 값을 바꿔도 캐시에는 영향이 없다.
+ */
+@Primary
+@Repository
+@ConditionalOnProperty(name = {"car.reader.db.enabled", "car.reader.cache.enabled"}, havingValue = "true", matchIfMissing = true)
+public class CachingCarReader implements CarReader, CarStatusListener {
+
+    private final CarReaderImpl delegate;
+    private final BoundedCache<String, CarEntity> byCarNumber;
+    private final BoundedCache<String, List<CarEntity>> byLoginId;
+    // DB에 아직 반영되지 않은 상태 변경
+    private final Map<String, CarStatus> pendingStatuses = new ConcurrentHashMap<>();
+    private final AtomicLong writes = new AtomicLong();
+
+    public CachingCarReader(CarReaderImpl delegate, CarCacheProperties carCacheProperties) {
+        this.delegate = delegate;
+        long ttlNanos = TimeUnit.SECONDS.toNanos(carCacheProperties.getTtlSeconds());
+        this.byCarNumber = new BoundedCache<>(carCacheProperties.getMaxCars(), ttlNanos);
+        this.byLoginId = new BoundedCache<>(carCacheProperties.getMaxListedCars(), ttlNanos, List::size);
+    }
+
+    @Override
+    public Optional<CarEntity> findByCarNumber(String carNumber) {
+        CarEntity cached = byCarNumber.get(carNumber);
+        if (cached != null) {
+            return Optional.of(copy(cached));
+        }
+        long writesBefore = writes.get();
+        Optional<CarEntity> loaded = delegate.findByCarNumber(carNumber).map(this::withPendingStatus);
+        if (writes.get() == writesBefore) {
+            loaded.ifPresent(car -> byCarNumber.put(carNumber, copy(car)));
+        }
+        return loaded;
+    }
+
+    @Override
+    public List<CarEntity> findAll(String loginId) {
+        List<CarEntity> cached = byLoginId.get(loginId);
+        if (cached != null) {
+            return cached.stream().map(CachingCarReader::copy).toList();
+        }
+        long writesBefore = writes.get();
+        List<CarEntity> loaded = delegate.findAll(loginId).stream().map(this::withPendingStatus).toList();
+        if (writes.get() == writesBefore) {
+            byLoginId.put(loginId, loaded.stream().map(CachingCarReader::copy).toList());
+        }
+        return loaded;
+    }
+
+    // 차량 목록 캐시는 해당 차량이 차량번호 캐시에도 있어 loginId를 알 수 있을 때만 갱신된다 (나머지는 TTL로 맞춰짐)
+    @Override
+    public void onStatusChanged(String carNumber, CarStatus status) {
+        pendingStatuses.put(carNumber, status);
+        String[] loginId = new String[1];
+        byCarNumber.computeIfPresent(carNumber, car -> {
+            loginId[0] = car.getLoginId();
+            return withStatus(car, status);
+        });
+        if (loginId[0] != null) {
+            byLoginId.computeIfPresent(loginId[0], cars -> cars.stream()
+                    .map(car -> car.getCarNumber().equals(carNumber) ? withStatus(car, status) : car)
+                    .toList());
+        }
+    }
+
+    // 반영된 변경은 더 이상 덮어쓰지 않는다 (그 사이 다른 상태로 바뀌었으면 그 변경은 남긴다)
+    @Override
+    public void onStatusesWritten(List<CarStatusChange> changes) {
+        writes.incrementAndGet();
+        for (CarStatusChange change : changes) {
+            pendingStatuses.remove(change.carNumber(), change.status());
+        }
+    }
+
+    public void invalidate(String carNumber, String loginId) {
+        byCarNumber.invalidate(carNumber);
+        byLoginId.invalidate(loginId);
+    }
+
+    public CarCacheStatsDto getStats() {
+        return CarCacheStatsDto.builder()
+                .cars(byCarNumber.size())
+                .carHits(byCarNumber.getHits())
+                .carMisses(byCarNumber.getMisses())
+                .loginIds(byLoginId.size())
+                .listedCars(byLoginId.weight())
+                .pendingStatuses(pendingStatuses.size())
+                .listHits(byLoginId.getHits())
+                .listMisses(byLoginId.getMisses())
+                .evictions(byCarNumber.getEvictions() + byLoginId.getEvictions())
+                .build();
+    }
+
+    private CarEntity withPendingStatus(CarEntity car) {
+        CarStatus pending = pendingStatuses.get(car.getCarNumber());
+        if (pending != null) {
+            car.setStatus(pending);
+        }
+        return car;
+    }
+
+    private static CarEntity withStatus(CarEntity car, CarStatus status) {
+        CarEntity updated = copy(car);
+        updated.setStatus(status);
+        return updated;
+    }
+
+    private static CarEntity copy(CarEntity car) {
+        return new CarEntity(car.getVersion(), car.getId(), car.getStatus(), car.getCarNumber(), car.getLoginId());
+    }
+}
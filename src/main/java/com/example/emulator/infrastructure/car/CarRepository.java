@@ -1,11 +1,17 @@
 package com.example.emulator.infrastructure.car;
 
+import com.example.emulator.application.dto.CarSummaryDto;
+import com.example.emulator.car.CarStatus;
 import com.example.emulator.car.domain.CarEntity;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +22,18 @@ public interface CarRepository extends JpaRepository<CarEntity, Integer> {
     Optional<CarEntity> findByCarNumber(String carNumber);
 
     List<CarEntity> findAllByLoginId(String loginId);
+
+    // 대량 시동 대상 선택: 모든 노드가 같은 차량을 같은 순서로 고르도록 car_id 순
+    List<CarEntity> findAllByLoginIdOrderByIdAsc(String loginId, Limit limit);
+
+    List<CarEntity> findAllByCarNumberIn(Collection<String> carNumbers);
+
+    List<CarEntity> findAllByStatus(CarStatus status);
+
+    // car_id 기준 keyset 페이지: afterId 다음부터 limit건 (idx_car_login_id_car_id 사용)
+    @Query("select new com.example.emulator.application.dto.CarSummaryDto(c.id, c.carNumber, c.status) "
+            + "from Car c where c.loginId = :loginId and c.id > :afterId order by c.id")
+    List<CarSummaryDto> findSummariesByLoginId(@Param("loginId") String loginId,
+                                               @Param("afterId") int afterId,
+                                               Limit limit);
 }
@@ -0,0 +1,28 @@
+package com.example.emulator.infrastructure.car;
+
+import com.example.emulator.car.CarStatusChange;
+import com.example.emulator.car.CarStatusWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class CarStatusWriterImpl implements CarStatusWriter {
+
+    // JPA @Version 컬럼도 올려 엔티티로 수정하는 다른 쪽이 변경을 감지할 수 있게 한다
+    private static final String UPDATE_STATUS_SQL =
+            "UPDATE car SET status = ?, version = version + 1 WHERE car_number = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void updateStatuses(List<CarStatusChange> changes) {
+        jdbcTemplate.batchUpdate(UPDATE_STATUS_SQL, changes, changes.size(), (ps, change) -> {
+            ps.setString(1, change.status().name());
+            ps.setString(2, change.carNumber());
+        });
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.emulator.infrastructure.cluster;
+
+import com.example.emulator.cluster.ClusterForwardException;
+import com.example.emulator.cluster.ClusterNode;
+import com.example.emulator.config.ClusterProperties;
+import com.example.emulator.controller.dto.BulkPowerDto;
+import com.example.emulator.controller.dto.LogPowerDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * 다른 노드가 담당하는 차량의 시동 요청을 담당 노드로 넘긴다.
+ * 넘긴 요청에는 {@value #FORWARDED_HEADER} 헤더를 붙여, 받은 노드가 다시 넘기지 않고 처리하게 한다
+ * (노드마다 링 구성이 잠깐 다를 때 요청이 노드 사이를 도는 것을 막는다).
+ */
+@Slf4j
+@Component
+public class ClusterForwarder {
+
+    public static final String FORWARDED_HEADER = "X-Emulator-Forwarded-By";
+
+    private final ObjectMapper objectMapper;
+    private final ClusterProperties clusterProperties;
+    private final HttpClient httpClient;
+
+    public ClusterForwarder(ObjectMapper objectMapper, ClusterProperties clusterProperties) {
+        this.objectMapper = objectMapper;
+        this.clusterProperties = clusterProperties;
+        // collector용 HttpClient와 연결 풀을 나눠 collector 지연이 노드 간 요청에 영향을 주지 않게 한다
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(clusterProperties.getForwardTimeoutMillis()))
+                .build();
+    }
+
+    // 담당 노드의 응답 data를 그대로 돌려준다. 전달에 실패했거나 담당 노드가 실패를 응답하면 ClusterForwardException
+    public LogPowerDto forwardPower(ClusterNode owner, String fromNodeId, LogPowerDto logPowerDto) {
+        try {
+            HttpResponse<byte[]> response = httpClient.send(
+                    request(owner, "/api/logs/power", fromNodeId, logPowerDto), HttpResponse.BodyHandlers.ofByteArray());
+            // ApiResponse 형식: {"result":..,"message":..,"data":{..}}
+            JsonNode body = objectMapper.readTree(response.body());
+            if (response.statusCode() >= 400) {
+                throw new ClusterForwardException(owner, response.statusCode(), body.path("message").asText(null));
+            }
+            return objectMapper.treeToValue(body.path("data"), LogPowerDto.class);
+        } catch (IOException e) {
+            throw new ClusterForwardException(owner, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClusterForwardException(owner, e);
+        }
+    }
+
+    // 대량 요청은 각 노드가 자기 담당 차량만 처리하므로 응답을 기다리지 않고 보낸다
+    public void forwardBulk(ClusterNode node, String fromNodeId, BulkPowerDto bulkPowerDto) {
+        try {
+            httpClient.sendAsync(request(node, "/api/logs/power/bulk", fromNodeId, bulkPowerDto),
+                            HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, e) -> {
+                        if (e != null) {
+                            log.error("노드 {}로 대량 시동 요청 전달 실패", node.nodeId(), e);
+                        } else if (response.statusCode() >= 400) {
+                            log.error("노드 {}가 대량 시동 요청을 거부: {}", node.nodeId(), response.statusCode());
+                        }
+                    });
+        } catch (IOException e) {
+            log.error("노드 {}로 보낼 대량 시동 요청 직렬화 실패", node.nodeId(), e);
+        }
+    }
+
+    private HttpRequest request(ClusterNode node, String path, String fromNodeId, Object body) throws IOException {
+        return HttpRequest.newBuilder(URI.create(node.baseUrl() + path))
+                .timeout(Duration.ofMillis(clusterProperties.getForwardTimeoutMillis()))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(FORWARDED_HEADER, fromNodeId)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+}
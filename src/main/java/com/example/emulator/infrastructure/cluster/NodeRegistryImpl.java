@@ -0,0 +1,41 @@
+package com.example.emulator.infrastructure.cluster;
+
+import com.example.emulator.cluster.ClusterNode;
+import com.example.emulator.cluster.NodeRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// 하트비트 시각은 DB 시계(NOW(6))로 기록·비교해 노드 간 시계 차이의 영향을 받지 않는다
+@Repository
+@RequiredArgsConstructor
+public class NodeRegistryImpl implements NodeRegistry {
+
+    private static final String HEARTBEAT_SQL =
+            "INSERT INTO emulator_node (node_id, base_url, heartbeat_at) VALUES (?, ?, NOW(6)) "
+                    + "ON DUPLICATE KEY UPDATE base_url = VALUES(base_url), heartbeat_at = NOW(6)";
+    private static final String LIVE_NODES_SQL =
+            "SELECT node_id, base_url FROM emulator_node WHERE heartbeat_at > NOW(6) - INTERVAL ? MICROSECOND";
+    private static final String LEAVE_SQL = "DELETE FROM emulator_node WHERE node_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void heartbeat(ClusterNode node) {
+        jdbcTemplate.update(HEARTBEAT_SQL, node.nodeId(), node.baseUrl());
+    }
+
+    @Override
+    public List<ClusterNode> findLiveNodes(long timeoutMillis) {
+        return jdbcTemplate.query(LIVE_NODES_SQL,
+                (rs, rowNum) -> new ClusterNode(rs.getString("node_id"), rs.getString("base_url")),
+                timeoutMillis * 1000);
+    }
+
+    @Override
+    public void leave(String nodeId) {
+        jdbcTemplate.update(LEAVE_SQL, nodeId);
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.emulator.infrastructure.location;
+
+import com.example.emulator.application.GpxPointBuffer;
+import com.example.emulator.application.LocationSink;
+import com.example.emulator.application.dto.LocationPublishStatsDto;
+import com.example.emulator.config.CollectorProperties;
+import com.example.emulator.config.LocationProperties;
+import com.example.emulator.infrastructure.log.GpxPayloadEncoder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 위치 배치를 RabbitMQ 위치 exchange로 발행한다. 차량마다 메시지 하나이며
+ * routing key는 차량번호 또는 차량번호 해시 샤드로 정해 소비자를 수평으로 늘릴 수 있게 한다.
+ * tick 스레드는 대기 큐에 넣기만 하고, 발행 스레드가 직렬화한 뒤 채널 하나로 이어서 발행한다.
+ * 위치 데이터는 양이 많고 다음 배치가 곧 뒤따르므로 publisher confirm/재발행 없이 실패를 집계만 한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "emulator.location.sink", havingValue = "amqp")
+public class AmqpLocationSink implements LocationSink {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final GpxPayloadEncoder gpxPayloadEncoder;
+    private final CollectorProperties collectorProperties;
+    private final LocationProperties.Amqp properties;
+
+    private final BlockingQueue<PendingBatch> queue;
+
+    private Thread thread;
+    private volatile boolean running;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong publishedBytes = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public AmqpLocationSink(RabbitTemplate rabbitTemplate, GpxPayloadEncoder gpxPayloadEncoder,
+                            CollectorProperties collectorProperties, LocationProperties locationProperties,
+                            MeterRegistry meterRegistry) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.gpxPayloadEncoder = gpxPayloadEncoder;
+        this.collectorProperties = collectorProperties;
+        this.properties = locationProperties.getAmqp();
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+
+        Gauge.builder("emulator.location.queued", queue, BlockingQueue::size)
+                .description("발행을 기다리는 위치 배치 수").register(meterRegistry);
+        FunctionCounter.builder("emulator.location.published", published, AtomicLong::get)
+                .description("발행한 위치 배치 수").register(meterRegistry);
+        FunctionCounter.builder("emulator.location.published.bytes", publishedBytes, AtomicLong::get)
+                .baseUnit("bytes").register(meterRegistry);
+        FunctionCounter.builder("emulator.location.dropped", dropped, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("emulator.location.failed", failed, AtomicLong::get).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        thread = new Thread(this::publishLoop, "locationPublish");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("위치 배치를 RabbitMQ로 발행합니다: {} ({}, {})",
+                properties.getExchange(), properties.getRoutingKey(), properties.getEncoding());
+    }
+
+    // 남은 배치를 발행한 뒤 종료
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    @Override
+    public void submit(String carNumber, String loginId, GpxPointBuffer batch, Runnable release) {
+        if (!queue.offer(new PendingBatch(carNumber, loginId, batch, release))) {
+            dropped.incrementAndGet();
+            release.run();
+            log.warn("위치 발행 큐가 가득 차 배치를 버립니다: {}", carNumber);
+        }
+    }
+
+    public LocationPublishStatsDto getStats() {
+        return LocationPublishStatsDto.builder()
+                .exchange(properties.getExchange())
+                .queued(queue.size())
+                .published(published.get())
+                .publishedBytes(publishedBytes.get())
+                .dropped(dropped.get())
+                .failed(failed.get())
+                .build();
+    }
+
+    String routingKey(String carNumber) {
+        if (properties.getRoutingKey() == LocationProperties.RoutingKey.SHARD) {
+            return properties.getRoutingKeyPrefix() + Math.floorMod(carNumber.hashCode(), properties.getShards());
+        }
+        return properties.getRoutingKeyPrefix() + carNumber;
+    }
+
+    private void publishLoop() {
+        List<PendingBatch> pending = new ArrayList<>(properties.getPublishBatchSize());
+        List<OutgoingMessage> messages = new ArrayList<>(properties.getPublishBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingBatch first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                pending.add(first);
+                queue.drainTo(pending, properties.getPublishBatchSize() - 1);
+                for (PendingBatch batch : pending) {
+                    try {
+                        messages.add(toMessage(batch));
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                        log.error("위치 배치 직렬화 실패: {}", batch.carNumber(), e);
+                    } finally {
+                        batch.release().run();
+                    }
+                }
+                publish(messages);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("위치 배치 발행 중 오류", e);
+            } finally {
+                pending.clear();
+                messages.clear();
+            }
+        }
+    }
+
+    private void publish(List<OutgoingMessage> messages) {
+        int[] sent = {0};
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (OutgoingMessage outgoing : messages) {
+                    operations.send(properties.getExchange(), outgoing.routingKey(), outgoing.message());
+                    sent[0]++;
+                    published.incrementAndGet();
+                    publishedBytes.addAndGet(outgoing.message().getBody().length);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            failed.addAndGet(messages.size() - sent[0]);
+            log.error("위치 배치 {}건 발행 실패", messages.size() - sent[0], e);
+        }
+    }
+
+    private OutgoingMessage toMessage(PendingBatch batch) {
+        MessageProperties messageProperties = new MessageProperties();
+        byte[] body;
+        if (properties.getEncoding() == LocationProperties.Encoding.BINARY) {
+            body = LocationBinaryCodec.encode(batch.carNumber(), batch.loginId(), batch.buffer());
+            messageProperties.setContentType(LocationBinaryCodec.CONTENT_TYPE);
+        } else {
+            body = gpxPayloadEncoder.encodeBatch(batch.carNumber(), batch.loginId(), batch.buffer());
+            messageProperties.setContentType(
+                    collectorProperties.getPayloadFormat() == CollectorProperties.PayloadFormat.COMPACT
+                            ? GpxPayloadEncoder.COMPACT_JSON.toString() : MediaType.APPLICATION_JSON_VALUE);
+        }
+        messageProperties.setHeader("carNumber", batch.carNumber());
+        return new OutgoingMessage(routingKey(batch.carNumber()), new Message(body, messageProperties));
+    }
+
+    private record PendingBatch(String carNumber, String loginId, GpxPointBuffer buffer, Runnable release) {
+    }
+
+    private record OutgoingMessage(String routingKey, Message message) {
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.emulator.infrastructure.location;
+
+import com.example.emulator.application.GpxPointBuffer;
+import com.example.emulator.application.LocationSink;
+import com.example.emulator.config.LocationProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 위치 배치를 복사해 메모리에 보관한다. 외부 시스템 없이 재생 결과를 확인할 때 사용
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "emulator.location.sink", havingValue = "memory")
+public class InMemoryLocationSink implements LocationSink {
+
+    private final int maxBatches;
+    private final ConcurrentLinkedQueue<LocationBatch> batches = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong points = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public InMemoryLocationSink(LocationProperties locationProperties) {
+        this.maxBatches = locationProperties.getMemory().getMaxBatches();
+    }
+
+    @Override
+    public void submit(String carNumber, String loginId, GpxPointBuffer batch, Runnable release) {
+        try {
+            if (size.incrementAndGet() > maxBatches) {
+                size.decrementAndGet();
+                dropped.incrementAndGet();
+                log.debug("메모리 위치 저장소가 가득 차 배치를 버립니다: {}", carNumber);
+                return;
+            }
+            batches.add(LocationBatch.copyOf(carNumber, loginId, batch));
+            points.addAndGet(batch.size());
+        } finally {
+            release.run();
+        }
+    }
+
+    // 보관 중인 배치를 꺼내고 비운다
+    public List<LocationBatch> drain() {
+        List<LocationBatch> drained = new ArrayList<>(size.get());
+        LocationBatch batch;
+        while ((batch = batches.poll()) != null) {
+            drained.add(batch);
+            size.decrementAndGet();
+        }
+        return drained;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public long getPointCount() {
+        return points.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+}
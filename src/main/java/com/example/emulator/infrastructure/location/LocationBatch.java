@@ -0,0 +1,59 @@
+package com.example.emulator.infrastructure.location;
+
+import com.example.emulator.application.GpxPointBuffer;
+
+import java.util.Arrays;
+
+// 차량 한 대 배치의 복사본 (좌표는 1e-4도 정수). 속도(km/h × 10)·방향은 주행 모델을 쓸 때만 있고 아니면 null
+public record LocationBatch(String carNumber, String loginId, long[] epochSeconds, int[] latitudesE4, int[] longitudesE4,
+                            int[] speedsE1, int[] headings) {
+
+    public LocationBatch(String carNumber, String loginId, long[] epochSeconds, int[] latitudesE4, int[] longitudesE4) {
+        this(carNumber, loginId, epochSeconds, latitudesE4, longitudesE4, null, null);
+    }
+
+    public static LocationBatch copyOf(String carNumber, String loginId, GpxPointBuffer batch) {
+        int size = batch.size();
+        long[] epochSeconds = new long[size];
+        int[] latitudes = new int[size];
+        int[] longitudes = new int[size];
+        int[] speeds = batch.hasMotion() ? new int[size] : null;
+        int[] headings = batch.hasMotion() ? new int[size] : null;
+        for (int i = 0; i < size; i++) {
+            epochSeconds[i] = batch.epochSecond(i);
+            latitudes[i] = batch.latitudeE4(i);
+            longitudes[i] = batch.longitudeE4(i);
+            if (speeds != null) {
+                speeds[i] = batch.speedE1(i);
+                headings[i] = batch.heading(i);
+            }
+        }
+        return new LocationBatch(carNumber, loginId, epochSeconds, latitudes, longitudes, speeds, headings);
+    }
+
+    public int size() {
+        return epochSeconds.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof LocationBatch other
+                && carNumber.equals(other.carNumber)
+                && loginId.equals(other.loginId)
+                && Arrays.equals(epochSeconds, other.epochSeconds)
+                && Arrays.equals(latitudesE4, other.latitudesE4)
+                && Arrays.equals(longitudesE4, other.longitudesE4)
+                && Arrays.equals(speedsE1, other.speedsE1)
+                && Arrays.equals(headings, other.headings);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * carNumber.hashCode() + Arrays.hashCode(epochSeconds);
+    }
+
+    @Override
+    public String toString() {
+        return "LocationBatch[" + carNumber + ", " + loginId + ", " + size() + " points]";
+    }
+}
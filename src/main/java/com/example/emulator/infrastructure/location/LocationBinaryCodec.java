@@ -0,0 +1,139 @@
+package com.example.emulator.infrastructure.location;
+
+import com.example.emulator.application.GpxPointBuffer;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 위치 배치 바이너리 형식 (content-type {@value #CONTENT_TYPE}).
+ * <pre>
+ * version(1바이트) | carNumber | loginId | count(varint) | baseEpochSecond(8바이트, count > 0일 때)
+ * | 포인트마다 (시각, 위도, 경도)의 직전 값과의 차이(zigzag varint)
+ * </pre>
+ * 문자열은 varint 길이 + UTF-8, 좌표는 1e-4도 정수이며 첫 좌표는 0과의 차이다.
+ * 1초 간격 포인트는 보통 포인트당 3~5바이트가 된다.
+ * 속도·방향이 있는 배치는 version {@value #MOTION_VERSION}으로 쓰고, 포인트마다 속도(km/h × 10)의 차이와 방향(도)이 이어진다.
+ */
+public final class LocationBinaryCodec {
+
+    public static final String CONTENT_TYPE = "application/vnd.emulator.gps-binary";
+    public static final byte VERSION = 1;
+    public static final byte MOTION_VERSION = 2;
+
+    private LocationBinaryCodec() {
+    }
+
+    public static byte[] encode(String carNumber, String loginId, GpxPointBuffer batch) {
+        int size = batch.size();
+        boolean motion = batch.hasMotion();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + size * (motion ? 9 : 6));
+        out.write(motion ? MOTION_VERSION : VERSION);
+        writeString(out, carNumber);
+        writeString(out, loginId);
+        writeVarint(out, size);
+        if (size == 0) {
+            return out.toByteArray();
+        }
+
+        long previousTime = batch.epochSecond(0);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (previousTime >>> shift));
+        }
+        int previousLatitude = 0;
+        int previousLongitude = 0;
+        int previousSpeed = 0;
+        for (int i = 0; i < size; i++) {
+            writeVarint(out, zigzag(batch.epochSecond(i) - previousTime));
+            writeVarint(out, zigzag(batch.latitudeE4(i) - previousLatitude));
+            writeVarint(out, zigzag(batch.longitudeE4(i) - previousLongitude));
+            previousTime = batch.epochSecond(i);
+            previousLatitude = batch.latitudeE4(i);
+            previousLongitude = batch.longitudeE4(i);
+            if (motion) {
+                writeVarint(out, zigzag(batch.speedE1(i) - previousSpeed));
+                writeVarint(out, batch.heading(i));
+                previousSpeed = batch.speedE1(i);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static LocationBatch decode(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        byte version = in.get();
+        if (version != VERSION && version != MOTION_VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 위치 배치 버전: " + version);
+        }
+        String carNumber = readString(in);
+        String loginId = readString(in);
+        int size = (int) readVarint(in);
+
+        long[] epochSeconds = new long[size];
+        int[] latitudes = new int[size];
+        int[] longitudes = new int[size];
+        int[] speeds = version == MOTION_VERSION ? new int[size] : null;
+        int[] headings = version == MOTION_VERSION ? new int[size] : null;
+        if (size > 0) {
+            long time = in.getLong();
+            int latitude = 0;
+            int longitude = 0;
+            int speed = 0;
+            for (int i = 0; i < size; i++) {
+                time += unzigzag(readVarint(in));
+                latitude += (int) unzigzag(readVarint(in));
+                longitude += (int) unzigzag(readVarint(in));
+                epochSeconds[i] = time;
+                latitudes[i] = latitude;
+                longitudes[i] = longitude;
+                if (speeds != null) {
+                    speed += (int) unzigzag(readVarint(in));
+                    speeds[i] = speed;
+                    headings[i] = (int) readVarint(in);
+                }
+            }
+        }
+        return new LocationBatch(carNumber, loginId, epochSeconds, latitudes, longitudes, speeds, headings);
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[(int) readVarint(in)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("잘못된 varint");
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
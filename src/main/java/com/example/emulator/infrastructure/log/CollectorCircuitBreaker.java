@@ -0,0 +1,69 @@
+package com.example.emulator.infrastructure.log;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * collector 호출 차단기. 연속 실패가 기준에 닿으면 일정 시간 요청을 보내지 않고(OPEN),
+ * 그 시간이 지나면 한 건만 시험 삼아 보내(HALF_OPEN) 성공하면 다시 연다(CLOSED).
+ */
+@Slf4j
+public class CollectorCircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtMillis;
+    private boolean trialInFlight;
+
+    public CollectorCircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = openMillis;
+    }
+
+    // 지금 요청을 보내도 되는지. HALF_OPEN에서는 시험 요청 한 건만 허용한다
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAtMillis >= openMillis) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.HALF_OPEN && !trialInFlight) {
+            trialInFlight = true;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            log.info("Collector 호출 재개");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            log.warn("Collector 연속 {}회 실패, {}ms 동안 호출을 중단합니다", consecutiveFailures, openMillis);
+            state = State.OPEN;
+            openedAtMillis = System.currentTimeMillis();
+            trialInFlight = false;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.emulator.infrastructure.log;
+
+import com.example.emulator.config.CollectorProperties;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+/**
+ * collector 전송 클라이언트. 요청은 비동기로 보내고 응답은 future로 돌려준다.
+ * 동시에 진행 중인 요청 수를 emulator.collector.max-in-flight로 제한해 연결 수가 무한히 늘지 않게 하고,
+ * 연속 실패 시에는 {@link CollectorCircuitBreaker}가 열려 요청을 보내지 않고 바로 실패로 돌려준다.
+ */
+@Component
+public class CollectorClient {
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final Duration requestTimeout;
+    private final Semaphore inFlight;
+    private final CollectorCircuitBreaker circuitBreaker;
+
+    public CollectorClient(@Qualifier("collectorHttpClient") HttpClient httpClient,
+                           CollectorProperties collectorProperties) {
+        this.httpClient = httpClient;
+        this.baseUri = URI.create(collectorProperties.getBaseUrl());
+        this.requestTimeout = Duration.ofMillis(collectorProperties.getRequestTimeoutMillis());
+        this.inFlight = new Semaphore(Math.max(1, collectorProperties.getMaxInFlight()));
+        this.circuitBreaker = new CollectorCircuitBreaker(
+                collectorProperties.getCircuitBreaker().getFailureThreshold(),
+                collectorProperties.getCircuitBreaker().getOpenMillis());
+    }
+
+    /**
+     * payload를 base-url + path로 POST한다. 진행 중인 요청이 상한에 닿아 있으면 자리가 날 때까지
+     * 호출 스레드(전송 스레드)가 기다린다. 4xx/5xx 응답도 정상 완료로 돌려주며, 연결 실패와 타임아웃은
+     * 예외로, 차단기가 열려 있으면 {@link CircuitOpenException}으로 완료된다.
+     */
+    public CompletableFuture<HttpResponse<String>> post(String path, GpxPayload payload) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        return send(path, payload);
+    }
+
+    // post와 같지만 진행 중인 요청이 상한이면 기다리지 않고 CollectorBusyException으로 완료된다
+    public CompletableFuture<HttpResponse<String>> tryPost(String path, GpxPayload payload) {
+        if (!inFlight.tryAcquire()) {
+            return CompletableFuture.failedFuture(new CollectorBusyException());
+        }
+        return send(path, payload);
+    }
+
+    // 다시 보내면 성공할 수 있는 응답 (그 외 4xx는 본문 문제로 본다)
+    public static boolean isRetriable(int statusCode) {
+        return statusCode == 408 || statusCode == 429 || statusCode >= 500;
+    }
+
+    // 자리(inFlight)를 얻은 뒤 호출된다. 차단기 시험 요청은 자리를 확보한 요청에만 배정된다
+    private CompletableFuture<HttpResponse<String>> send(String path, GpxPayload payload) {
+        if (!circuitBreaker.allowRequest()) {
+            inFlight.release();
+            return CompletableFuture.failedFuture(new CircuitOpenException());
+        }
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve(path))
+                    .timeout(requestTimeout)
+                    .header(HttpHeaders.CONTENT_TYPE, payload.getContentType().toString())
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(payload.getBody()));
+            if (payload.isGzipped()) {
+                request.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, e) -> {
+                        inFlight.release();
+                        if (e != null || isRetriable(response.statusCode())) {
+                            circuitBreaker.onFailure();
+                        } else {
+                            circuitBreaker.onSuccess();
+                        }
+                    });
+        } catch (RuntimeException e) {
+            // 요청을 만들거나 넘기다 실패해도 실패로 기록한다 (HALF_OPEN 시험 요청이었다면 차단기가 다시 열리도록)
+            inFlight.release();
+            circuitBreaker.onFailure();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public CollectorCircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    // 요청을 보내지 않고 거절된 경우 (재시도 대신 바로 스풀로 보낸다)
+    public static boolean isShed(Throwable e) {
+        return e instanceof CollectorBusyException || e instanceof CircuitOpenException;
+    }
+
+    public static class CollectorBusyException extends RuntimeException {
+        public CollectorBusyException() {
+            super("진행 중인 collector 요청이 상한에 도달했습니다", null, false, false);
+        }
+    }
+
+    public static class CircuitOpenException extends RuntimeException {
+        public CircuitOpenException() {
+            super("collector 차단기가 열려 있습니다", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.emulator.infrastructure.log;
+
+import com.example.emulator.config.CollectorProperties;
+import com.example.emulator.config.SpoolProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+@Configuration
+@EnableConfigurationProperties({CollectorProperties.class, SpoolProperties.class})
+public class CollectorClientConfig {
+
+    // JDK HttpClient는 연결을 keep-alive 풀로 재사용하므로 애플리케이션 전체에서 하나만 쓴다
+    @Bean
+    public HttpClient collectorHttpClient(CollectorProperties collectorProperties) {
+        return HttpClient.newBuilder()
+                .version(collectorProperties.getHttpVersion())
+                .connectTimeout(Duration.ofMillis(collectorProperties.getConnectTimeoutMillis()))
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.emulator.infrastructure.log;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+// collector로 보낼 직렬화(및 압축)된 본문
+@Getter
+@AllArgsConstructor
+public class GpxPayload {
+    private final byte[] body;
+    private final MediaType contentType;
+    private final boolean gzipped;
+    private final int uncompressedBytes;
+}
@@ -0,0 +1,164 @@
+package com.example.emulator.infrastructure.log;
+
+import com.example.emulator.application.GpxPointBuffer;
+import com.example.emulator.application.dto.GpxRequestDto;
+import com.example.emulator.config.CollectorProperties;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 차량 배치를 collector 본문으로 직렬화한다.
+ * <ul>
+ *     <li>JSON: 기존 {@link GpxRequestDto} 형식</li>
+ *     <li>COMPACT: 시각은 기준 epoch 초 + 오프셋, 좌표는 1e-4도 정수의 첫 값 + 델타 배열.
+ *     주행 모델을 쓰면 속도(km/h × 10)와 방향(도) 배열이 추가된다</li>
+ *     <li>envelope: 여러 차량의 배치(위 형식 중 하나)를 {@code batches} 배열로 묶은 형식</li>
+ * </ul>
+ * 설정에 따라 일정 크기 이상이면 gzip으로 압축한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class GpxPayloadEncoder {
+
+    public static final MediaType COMPACT_JSON = MediaType.parseMediaType("application/vnd.emulator.gps-compact+json");
+    public static final MediaType MULTI_JSON = MediaType.parseMediaType("application/vnd.emulator.gps-multi+json");
+    public static final String COMPACT_FORMAT = "compact-v1";
+    public static final String MULTI_FORMAT = "multi-v1";
+
+    private static final byte[] ENVELOPE_END = {']', '}'};
+
+    private final ObjectMapper objectMapper;
+    private final CollectorProperties collectorProperties;
+
+    // 차량 한 대 배치의 단독 요청 본문
+    public GpxPayload encode(String carNumber, String loginId, GpxPointBuffer batch) {
+        boolean compact = collectorProperties.getPayloadFormat() == CollectorProperties.PayloadFormat.COMPACT;
+        return compress(encodeBatch(carNumber, loginId, batch), compact ? COMPACT_JSON : MediaType.APPLICATION_JSON);
+    }
+
+    // 압축 전 배치 JSON (envelope 안에 그대로 들어간다)
+    public byte[] encodeBatch(String carNumber, String loginId, GpxPointBuffer batch) {
+        try {
+            return collectorProperties.getPayloadFormat() == CollectorProperties.PayloadFormat.COMPACT
+                    ? writeCompact(carNumber, loginId, batch)
+                    : writeJson(carNumber, loginId, batch);
+        } catch (IOException e) {
+            throw new UncheckedIOException("GPX 배치 직렬화 실패", e);
+        }
+    }
+
+    // {"format":"multi-v1","entryFormat":"json|compact-v1","batches":[...]}
+    public GpxPayload encodeEnvelope(List<byte[]> batches) {
+        String entryFormat = collectorProperties.getPayloadFormat() == CollectorProperties.PayloadFormat.COMPACT
+                ? COMPACT_FORMAT : "json";
+        byte[] head = ("{\"format\":\"" + MULTI_FORMAT + "\",\"entryFormat\":\"" + entryFormat + "\",\"batches\":[")
+                .getBytes(StandardCharsets.UTF_8);
+
+        int length = head.length + ENVELOPE_END.length + Math.max(0, batches.size() - 1);
+        for (byte[] batch : batches) {
+            length += batch.length;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length);
+        out.writeBytes(head);
+        for (int i = 0; i < batches.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeBytes(batches.get(i));
+        }
+        out.writeBytes(ENVELOPE_END);
+        return compress(out.toByteArray(), MULTI_JSON);
+    }
+
+    private GpxPayload compress(byte[] raw, MediaType contentType) {
+        if (collectorProperties.getCompression() == CollectorProperties.Compression.GZIP
+                && raw.length >= collectorProperties.getCompressionMinBytes()) {
+            try {
+                return new GpxPayload(gzip(raw), contentType, true, raw.length);
+            } catch (IOException e) {
+                throw new UncheckedIOException("GPX 배치 압축 실패", e);
+            }
+        }
+        return new GpxPayload(raw, contentType, false, raw.length);
+    }
+
+    private byte[] writeJson(String carNumber, String loginId, GpxPointBuffer batch) throws IOException {
+        GpxRequestDto logJson = GpxRequestDto.builder()
+                .carNumber(carNumber)
+                .loginId(loginId)
+                .startTime(batch.startTime())
+                .endTime(batch.endTime())
+                .logList(batch.toLogList())
+                .build(); // buffer 내부 로그들 Json화
+        return objectMapper.writeValueAsBytes(logJson);
+    }
+
+    private byte[] writeCompact(String carNumber, String loginId, GpxPointBuffer batch) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256 + batch.size() * 16);
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            long baseEpochSecond = batch.epochSecond(0);
+            json.writeStartObject();
+            json.writeStringField("format", COMPACT_FORMAT);
+            json.writeStringField("carNumber", carNumber);
+            json.writeStringField("loginId", loginId);
+            json.writeStringField("startTime", batch.startTime());
+            json.writeStringField("endTime", batch.endTime());
+            json.writeNumberField("baseEpochSecond", baseEpochSecond);
+            json.writeNumberField("scale", 10_000);
+
+            json.writeArrayFieldStart("timeOffsets");
+            for (int i = 0; i < batch.size(); i++) {
+                json.writeNumber(batch.epochSecond(i) - baseEpochSecond);
+            }
+            json.writeEndArray();
+
+            // 첫 값은 절대값, 이후는 직전 포인트와의 차이
+            json.writeArrayFieldStart("latitudes");
+            for (int i = 0, previous = 0; i < batch.size(); i++) {
+                json.writeNumber(batch.latitudeE4(i) - previous);
+                previous = batch.latitudeE4(i);
+            }
+            json.writeEndArray();
+
+            json.writeArrayFieldStart("longitudes");
+            for (int i = 0, previous = 0; i < batch.size(); i++) {
+                json.writeNumber(batch.longitudeE4(i) - previous);
+                previous = batch.longitudeE4(i);
+            }
+            json.writeEndArray();
+
+            if (batch.hasMotion()) {
+                json.writeArrayFieldStart("speeds");
+                for (int i = 0; i < batch.size(); i++) {
+                    json.writeNumber(batch.speedE1(i));
+                }
+                json.writeEndArray();
+                json.writeArrayFieldStart("headings");
+                for (int i = 0; i < batch.size(); i++) {
+                    json.writeNumber(batch.heading(i));
+                }
+                json.writeEndArray();
+            }
+            json.writeEndObject();
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gzip(byte[] raw) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw);
+        }
+        return out.toByteArray();
+    }
+}
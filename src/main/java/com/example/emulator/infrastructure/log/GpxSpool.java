@@ -0,0 +1,383 @@
+package com.example.emulator.infrastructure.log;
+
+import com.example.emulator.config.SpoolProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * collector로 보내지 못한 배치를 순서대로 보관하는 append-only 디스크 스풀.
+ * 고정 크기 세그먼트 파일을 메모리 매핑해 이어 쓰고, 읽은 위치는 체크포인트 파일에 (세그먼트, 오프셋)으로 기록한다.
+ * 다 읽은 세그먼트는 삭제된다. 재시작하면 체크포인트 이후의 레코드부터 다시 읽는다.
+ *
+ * <p>레코드: {@code [길이][CRC32][적재 시각][플래그][압축 전 크기][Content-Type][path][본문]}.
+ * 길이는 나머지를 모두 쓴 뒤 마지막에 기록하므로, 길이가 0이거나 CRC가 맞지 않는 위치가 데이터의 끝이다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GpxSpool {
+
+    private static final int HEADER_BYTES = 8; // 길이 + CRC
+    private static final int ROLL_MARKER = -1; // 세그먼트 나머지가 비어 있음
+    private static final byte FLAG_GZIPPED = 1;
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final SpoolProperties spoolProperties;
+
+    private Path dir;
+    private MappedByteBuffer checkpoint;
+    private final Deque<Integer> segments = new ArrayDeque<>();
+
+    private int writeSeq;
+    private MappedByteBuffer writeBuf;
+    private int writePos;
+
+    private int readSeq;
+    private MappedByteBuffer readBuf;
+    private int readPos;
+
+    private volatile long pendingRecords;
+    private long pendingBytes;
+    private long oldestEnqueuedAtMillis;
+    private boolean closed = true;
+
+    @PostConstruct
+    public synchronized void open() {
+        if (!spoolProperties.isEnabled()) {
+            return;
+        }
+        try {
+            dir = Paths.get(spoolProperties.getDir());
+            Files.createDirectories(dir);
+            checkpoint = map(dir.resolve(CHECKPOINT_FILE), Long.BYTES);
+            long saved = checkpoint.getLong(0);
+            int savedSeq = (int) (saved >>> 32);
+            int savedPos = (int) saved;
+
+            for (int seq : listSegments()) {
+                if (seq < savedSeq) {
+                    Files.deleteIfExists(segmentPath(seq));
+                } else {
+                    segments.addLast(seq);
+                }
+            }
+            if (segments.isEmpty()) {
+                segments.addLast(savedSeq + 1);
+            }
+
+            writeSeq = segments.peekLast();
+            writeBuf = map(segmentPath(writeSeq), spoolProperties.getSegmentBytes());
+            writePos = scanEnd(writeBuf, 0);
+            clearTail(writeBuf, writePos);
+
+            readSeq = segments.peekFirst();
+            readBuf = readSeq == writeSeq ? writeBuf : map(segmentPath(readSeq), spoolProperties.getSegmentBytes());
+            readPos = readSeq == savedSeq ? savedPos : 0;
+            saveCheckpoint();
+
+            countPending();
+            closed = false;
+            if (pendingRecords > 0) {
+                log.info("GPX 스풀에 재전송 대기 배치 {}건 ({} bytes)", pendingRecords, pendingBytes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("GPX 스풀을 열 수 없습니다: " + spoolProperties.getDir(), e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        force();
+        closed = true;
+    }
+
+    public boolean isEnabled() {
+        return spoolProperties.isEnabled();
+    }
+
+    public boolean isEmpty() {
+        return pendingRecords == 0;
+    }
+
+    /**
+     * 배치를 스풀 끝에 붙인다.
+     *
+     * @return 스풀이 꺼져 있거나 닫혔거나 가득 찬 경우 false
+     */
+    public synchronized boolean append(String path, GpxPayload payload) {
+        if (closed) {
+            return false;
+        }
+        byte[] contentType = payload.getContentType().toString().getBytes(StandardCharsets.US_ASCII);
+        byte[] pathBytes = path.getBytes(StandardCharsets.UTF_8);
+        byte[] body = payload.getBody();
+        int length = Long.BYTES + 1 + Integer.BYTES
+                + Short.BYTES + contentType.length + Short.BYTES + pathBytes.length + body.length;
+        int recordBytes = HEADER_BYTES + length;
+        int segmentBytes = spoolProperties.getSegmentBytes();
+        if (recordBytes > segmentBytes) {
+            log.error("세그먼트보다 큰 배치는 스풀에 넣을 수 없습니다: {} bytes", recordBytes);
+            return false;
+        }
+        if (writePos + recordBytes > segmentBytes && !roll()) {
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        ByteBuffer record = writeBuf.slice(writePos + HEADER_BYTES, length);
+        record.putLong(now)
+                .put(payload.isGzipped() ? FLAG_GZIPPED : 0)
+                .putInt(payload.getUncompressedBytes())
+                .putShort((short) contentType.length).put(contentType)
+                .putShort((short) pathBytes.length).put(pathBytes)
+                .put(body);
+        writeBuf.putInt(writePos + Integer.BYTES, crc(writeBuf, writePos + HEADER_BYTES, length));
+        writeBuf.putInt(writePos, length);
+        writePos += recordBytes;
+
+        if (pendingRecords == 0) {
+            oldestEnqueuedAtMillis = now;
+        }
+        pendingBytes += recordBytes;
+        pendingRecords++;
+        return true;
+    }
+
+    // 가장 오래된 레코드를 돌려준다. 스풀에서 제거하려면 commit을 호출해야 한다. 비어 있으면 null
+    public synchronized SpooledBatch peek() {
+        if (closed) {
+            return null;
+        }
+        int segmentBytes = spoolProperties.getSegmentBytes();
+        while (true) {
+            int length = readPos + HEADER_BYTES <= segmentBytes ? readBuf.getInt(readPos) : ROLL_MARKER;
+            boolean valid = length != ROLL_MARKER && isValid(readBuf, readPos, length);
+            if (valid) {
+                return decode(readBuf, readPos, length);
+            }
+            if (readSeq == writeSeq) {
+                return null;
+            }
+            if (length != ROLL_MARKER && length != 0) {
+                log.warn("GPX 스풀 세그먼트 {}의 {} 이후가 손상되어 건너뜁니다", readSeq, readPos);
+            }
+            nextReadSegment();
+        }
+    }
+
+    // peek으로 받은 레코드를 처리 완료로 표시하고 읽기 위치를 넘긴다
+    public synchronized void commit(SpooledBatch batch) {
+        if (closed || batch.segment() != readSeq || batch.position() != readPos) {
+            return;
+        }
+        readPos = batch.position() + batch.recordBytes();
+        pendingRecords--;
+        pendingBytes -= batch.recordBytes();
+        saveCheckpoint();
+
+        SpooledBatch next = pendingRecords > 0 ? peek() : null;
+        oldestEnqueuedAtMillis = next != null ? next.enqueuedAtMillis() : 0;
+    }
+
+    public synchronized void force() {
+        if (closed) {
+            return;
+        }
+        writeBuf.force();
+        checkpoint.force();
+    }
+
+    public long getPendingRecords() {
+        return pendingRecords;
+    }
+
+    public synchronized long getPendingBytes() {
+        return pendingBytes;
+    }
+
+    // 가장 오래된 대기 배치의 적재 시각. 비어 있으면 0
+    public synchronized long getOldestEnqueuedAtMillis() {
+        return oldestEnqueuedAtMillis;
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    private boolean roll() {
+        if (segments.size() >= spoolProperties.getMaxSegments()) {
+            log.error("GPX 스풀이 가득 찼습니다 (세그먼트 {}개)", segments.size());
+            return false;
+        }
+        try {
+            if (writePos + Integer.BYTES <= spoolProperties.getSegmentBytes()) {
+                writeBuf.putInt(writePos, ROLL_MARKER);
+            }
+            writeBuf.force();
+            writeSeq++;
+            writeBuf = map(segmentPath(writeSeq), spoolProperties.getSegmentBytes());
+            writePos = 0;
+            segments.addLast(writeSeq);
+            return true;
+        } catch (IOException e) {
+            log.error("GPX 스풀 세그먼트 생성 실패", e);
+            return false;
+        }
+    }
+
+    private void nextReadSegment() {
+        int finished = segments.removeFirst();
+        readSeq = segments.peekFirst();
+        try {
+            readBuf = readSeq == writeSeq ? writeBuf : map(segmentPath(readSeq), spoolProperties.getSegmentBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        readPos = 0;
+        saveCheckpoint();
+        try {
+            Files.deleteIfExists(segmentPath(finished));
+        } catch (IOException e) {
+            log.warn("다 읽은 GPX 스풀 세그먼트 삭제 실패: {}", finished, e);
+        }
+    }
+
+    private void saveCheckpoint() {
+        // 한 번의 8바이트 쓰기로 세그먼트와 오프셋을 함께 갱신
+        checkpoint.putLong(0, ((long) readSeq << 32) | (readPos & 0xFFFFFFFFL));
+    }
+
+    private void countPending() throws IOException {
+        long records = 0;
+        long bytes = 0;
+        long oldest = 0;
+        int segmentBytes = spoolProperties.getSegmentBytes();
+        for (int seq : segments) {
+            MappedByteBuffer buf = seq == readSeq ? readBuf : seq == writeSeq ? writeBuf : map(segmentPath(seq), segmentBytes);
+            int pos = seq == readSeq ? readPos : 0;
+            while (pos + HEADER_BYTES <= segmentBytes) {
+                int length = buf.getInt(pos);
+                if (!isValid(buf, pos, length)) {
+                    break;
+                }
+                if (records == 0) {
+                    oldest = buf.getLong(pos + HEADER_BYTES);
+                }
+                records++;
+                bytes += HEADER_BYTES + length;
+                pos += HEADER_BYTES + length;
+            }
+        }
+        pendingRecords = records;
+        pendingBytes = bytes;
+        oldestEnqueuedAtMillis = oldest;
+    }
+
+    // 유효한 레코드가 끝나는 위치
+    private int scanEnd(MappedByteBuffer buf, int pos) {
+        while (pos + HEADER_BYTES <= buf.capacity()) {
+            int length = buf.getInt(pos);
+            if (!isValid(buf, pos, length)) {
+                break;
+            }
+            pos += HEADER_BYTES + length;
+        }
+        return pos;
+    }
+
+    // 비정상 종료로 반쯤 쓰인 레코드가 남아 있으면 지워서 이후 레코드와 섞이지 않게 한다
+    private void clearTail(MappedByteBuffer buf, int pos) {
+        if (pos + HEADER_BYTES > buf.capacity() || buf.getInt(pos) == 0) {
+            return;
+        }
+        log.warn("GPX 스풀 세그먼트 {}의 {} 이후 불완전한 레코드를 정리합니다", writeSeq, pos);
+        byte[] zeros = new byte[8192];
+        for (int i = pos; i < buf.capacity(); i += zeros.length) {
+            buf.put(i, zeros, 0, Math.min(zeros.length, buf.capacity() - i));
+        }
+        buf.force();
+    }
+
+    private boolean isValid(MappedByteBuffer buf, int pos, int length) {
+        return length > 0
+                && pos + HEADER_BYTES + length <= buf.capacity()
+                && buf.getInt(pos + Integer.BYTES) == crc(buf, pos + HEADER_BYTES, length);
+    }
+
+    private SpooledBatch decode(MappedByteBuffer buf, int pos, int length) {
+        ByteBuffer record = buf.slice(pos + HEADER_BYTES, length);
+        long enqueuedAt = record.getLong();
+        boolean gzipped = (record.get() & FLAG_GZIPPED) != 0;
+        int uncompressedBytes = record.getInt();
+        byte[] contentType = new byte[record.getShort()];
+        record.get(contentType);
+        byte[] pathBytes = new byte[record.getShort()];
+        record.get(pathBytes);
+        byte[] body = new byte[record.remaining()];
+        record.get(body);
+
+        GpxPayload payload = new GpxPayload(body,
+                MediaType.parseMediaType(new String(contentType, StandardCharsets.US_ASCII)), gzipped, uncompressedBytes);
+        return new SpooledBatch(readSeq, pos, HEADER_BYTES + length, enqueuedAt,
+                new String(pathBytes, StandardCharsets.UTF_8), payload);
+    }
+
+    private static int crc(MappedByteBuffer buf, int from, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buf.slice(from, length));
+        return (int) crc.getValue();
+    }
+
+    private List<Integer> listSegments() throws IOException {
+        List<Integer> seqs = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .forEach(name -> {
+                        try {
+                            seqs.add(Integer.parseInt(name.substring(0, name.length() - SEGMENT_SUFFIX.length())));
+                        } catch (NumberFormatException e) {
+                            log.warn("GPX 스풀 디렉터리의 알 수 없는 파일을 무시합니다: {}", name);
+                        }
+                    });
+        }
+        seqs.sort(null);
+        return seqs;
+    }
+
+    private Path segmentPath(int seq) {
+        return dir.resolve(String.format("%010d%s", seq, SEGMENT_SUFFIX));
+    }
+
+    private static MappedByteBuffer map(Path file, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+}
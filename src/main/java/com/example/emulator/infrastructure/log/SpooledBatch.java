@@ -0,0 +1,6 @@
+package com.example.emulator.infrastructure.log;
+
+// 스풀에서 꺼낸 배치. segment/position/recordBytes는 commit 시 읽기 위치를 넘기는 데 쓰인다
+public record SpooledBatch(int segment, int position, int recordBytes, long enqueuedAtMillis,
+                           String path, GpxPayload payload) {
+}
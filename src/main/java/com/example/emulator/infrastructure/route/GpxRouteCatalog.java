@@ -0,0 +1,126 @@
+package com.example.emulator.infrastructure.route;
+
+import com.example.emulator.config.RouteProperties;
+import com.example.emulator.route.GpxRoute;
+import com.example.emulator.route.RouteCatalog;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * classpath:gpx/*.gpx 와 외부 디렉터리(emulator.route.external-dir)의 경로들을 기동 시 한 번만 파싱해 보관한다.
+ * 모든 파일은 {@link GpxStreamReader}로 스트리밍 파싱하므로 원본 텍스트를 메모리에 올리지 않는다.
+ * 실행 중 등록된 경로는 기존 routeId를 바꾸지 않도록 목록 끝에 추가된다.
+ * 경로 이름(파일명)은 중복될 수 없다. 기동 시에는 먼저 읽은 파일이 남고, 업로드는 거절한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GpxRouteCatalog implements RouteCatalog {
+
+    private static final String GPX_LOCATION = "classpath*:gpx/*.gpx";
+
+    private final RouteProperties routeProperties;
+
+    private volatile List<GpxRoute> routes = List.of();
+
+    @PostConstruct
+    public void load() throws IOException {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        List<Resource> resources = new ArrayList<>(sortedByName(resolver.getResources(GPX_LOCATION)));
+        if (StringUtils.hasText(routeProperties.getExternalDir())) {
+            String location = Path.of(routeProperties.getExternalDir()).toUri() + "*.gpx";
+            resources.addAll(sortedByName(resolver.getResources(location)));
+        }
+
+        for (Resource resource : resources) {
+            if (findByName(resource.getFilename()).isPresent()) {
+                log.warn("같은 이름의 GPX 파일이 이미 로드되어 건너뜁니다: {}", resource.getURI());
+                continue;
+            }
+            try (InputStream in = resource.getInputStream()) {
+                add(resource.getFilename(), in, Integer.MAX_VALUE);
+            } catch (IllegalArgumentException e) {
+                log.warn("좌표가 없는 GPX 파일은 건너뜁니다: {}", resource.getFilename());
+            }
+        }
+
+        if (routes.isEmpty()) {
+            log.error("gpx 폴더 내에 사용할 수 있는 파일이 없습니다.");
+        }
+        log.info("GPX 경로 {}개 로드 완료", routes.size());
+    }
+
+    // 파일명 순으로 정렬해 실행마다 같은 routeId가 부여되도록 한다
+    private static List<Resource> sortedByName(Resource[] resources) {
+        Arrays.sort(resources, Comparator.comparing(Resource::getFilename));
+        return Arrays.asList(resources);
+    }
+
+    // 업로드: 본문 크기와 포인트 수를 제한하고, 이미 있는 이름이면 파싱하기 전에 거절한다
+    @Override
+    public GpxRoute register(String name, InputStream in) throws IOException {
+        checkNameAvailable(name);
+        return add(name, new LimitedInputStream(in, routeProperties.getMaxUploadBytes()), routeProperties.getMaxUploadPoints());
+    }
+
+    private GpxRoute add(String name, InputStream in, int maxPoints) throws IOException {
+        GpxRoute.Builder builder = GpxRoute.builder();
+        GpxStreamReader.read(in, (latitude, longitude) -> {
+            if (builder.size() == maxPoints) {
+                throw new IllegalArgumentException("GPX 포인트가 너무 많습니다 (최대 " + maxPoints + "개): " + name);
+            }
+            builder.add(latitude, longitude);
+        });
+        if (builder.size() == 0) {
+            throw new IllegalArgumentException("좌표가 없는 GPX 입니다: " + name);
+        }
+
+        synchronized (this) {
+            // 파싱하는 동안 같은 이름이 먼저 등록됐을 수 있다
+            checkNameAvailable(name);
+            List<GpxRoute> updated = new ArrayList<>(routes);
+            GpxRoute route = builder.build(updated.size(), name);
+            updated.add(route);
+            routes = List.copyOf(updated);
+            log.info("GPX 경로 등록: {}", route);
+            return route;
+        }
+    }
+
+    private void checkNameAvailable(String name) {
+        if (findByName(name).isPresent()) {
+            throw new IllegalArgumentException("이미 등록된 경로 이름입니다: " + name);
+        }
+    }
+
+    @Override
+    public List<GpxRoute> findAll() {
+        return routes;
+    }
+
+    @Override
+    public GpxRoute get(int routeId) {
+        return routes.get(routeId);
+    }
+
+    @Override
+    public Optional<GpxRoute> findByName(String name) {
+        return routes.stream()
+                .filter(route -> route.getName().equals(name))
+                .findFirst();
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.emulator.infrastructure.route;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * GPX 스트림을 고정 크기 버퍼 단위로 읽어 좌표를 바로 넘긴다. 파일 전체를 메모리에 올리지 않으며,
+ * 버퍼 경계에서 잘린 요소는 남겨 두었다가 다음 읽기와 이어 붙여 다시 스캔한다.
+ */
+public final class GpxStreamReader {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private GpxStreamReader() {
+    }
+
+    public static void read(InputStream in, TrkptScanner.PointConsumer consumer) throws IOException {
+        byte[] buf = new byte[CHUNK_SIZE];
+        int length = 0;
+        int read;
+        while ((read = in.read(buf, length, buf.length - length)) >= 0) {
+            length += read;
+            int consumed = TrkptScanner.scan(buf, 0, length, consumer);
+            int remaining = length - consumed;
+            if (remaining == buf.length) {
+                // 요소 하나(또는 주석)가 버퍼보다 크면 버퍼를 늘린다
+                buf = Arrays.copyOf(buf, buf.length * 2);
+            } else if (consumed > 0) {
+                System.arraycopy(buf, consumed, buf, 0, remaining);
+            }
+            length = remaining;
+        }
+        // 스트림 끝에 남은 조각은 닫히지 않은 요소이므로 버린다
+    }
+}
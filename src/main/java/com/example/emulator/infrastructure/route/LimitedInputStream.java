@@ -0,0 +1,42 @@
+package com.example.emulator.infrastructure.route;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+// 읽은 바이트가 상한을 넘으면 IllegalArgumentException으로 중단한다 (업로드 본문 크기 제한)
+final class LimitedInputStream extends FilterInputStream {
+
+    private final long maxBytes;
+    private long read;
+
+    LimitedInputStream(InputStream in, long maxBytes) {
+        super(in);
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            count(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            count(n);
+        }
+        return n;
+    }
+
+    private void count(int n) {
+        read += n;
+        if (read > maxBytes) {
+            throw new IllegalArgumentException("GPX 파일이 너무 큽니다 (최대 " + maxBytes + " bytes)");
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.emulator.infrastructure.route;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * GPX 바이트열에서 {@code <trkpt lat=".." lon="..">} 요소를 찾아 좌표를 꺼내는 스캐너.
+ * 정규표현식 없이 인덱스만으로 읽으며, 줄바꿈/속성 순서/따옴표 종류/네임스페이스 접두어에 의존하지 않고
+ * 주석과 CDATA 안의 내용은 건너뛴다. 구간 끝에서 잘린 요소는 다음 구간에서 이어 읽을 수 있다.
+ */
+public final class TrkptScanner {
+
+    private static final byte[] TRKPT = {'t', 'r', 'k', 'p', 't'};
+    private static final byte[] COMMENT_START = {'<', '!', '-', '-'};
+    private static final byte[] COMMENT_END = {'-', '-', '>'};
+    private static final byte[] CDATA_START = {'<', '!', '[', 'C', 'D', 'A', 'T', 'A', '['};
+    private static final byte[] CDATA_END = {']', ']', '>'};
+
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    // 10^0 ~ 10^22 는 double로 정확히 표현된다
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    @FunctionalInterface
+    public interface PointConsumer {
+        void accept(double latitude, double longitude);
+    }
+
+    private TrkptScanner() {
+    }
+
+    /**
+     * buf[from, to) 구간의 trkpt 요소를 모두 읽어 consumer에 넘긴다.
+     *
+     * @return 처리하지 못한 첫 위치. 구간 끝에서 잘린 요소가 있으면 그 요소의 시작 위치, 없으면 {@code to}
+     */
+    public static int scan(byte[] buf, int from, int to, PointConsumer consumer) {
+        int i = from;
+        while (i < to) {
+            if (buf[i] != '<') {
+                i++;
+                continue;
+            }
+            int tagStart = i;
+            if (tagStart + CDATA_START.length >= to) {
+                // 태그 종류를 판별할 수 없으면 다음 구간에서 다시 읽는다
+                return tagStart;
+            }
+            if (startsWith(buf, tagStart, COMMENT_START)) {
+                i = skipPast(buf, tagStart + COMMENT_START.length, to, COMMENT_END);
+            } else if (startsWith(buf, tagStart, CDATA_START)) {
+                i = skipPast(buf, tagStart + CDATA_START.length, to, CDATA_END);
+            } else {
+                int nameEnd = tagStart + 1;
+                while (nameEnd < to && !isWhitespace(buf[nameEnd]) && buf[nameEnd] != '>' && buf[nameEnd] != '/') {
+                    nameEnd++;
+                }
+                if (nameEnd >= to) {
+                    return tagStart;
+                }
+                i = isTrkptName(buf, tagStart + 1, nameEnd) ? scanElement(buf, nameEnd, to, consumer) : nameEnd;
+            }
+            if (i < 0) {
+                return tagStart;
+            }
+        }
+        return to;
+    }
+
+    // "trkpt" 또는 "gpx:trkpt" 처럼 접두어가 붙은 이름
+    private static boolean isTrkptName(byte[] buf, int nameStart, int nameEnd) {
+        int localStart = nameEnd - TRKPT.length;
+        if (localStart < nameStart || (localStart > nameStart && buf[localStart - 1] != ':')) {
+            return false;
+        }
+        return startsWith(buf, localStart, TRKPT);
+    }
+
+    private static boolean startsWith(byte[] buf, int at, byte[] prefix) {
+        for (int k = 0; k < prefix.length; k++) {
+            if (buf[at + k] != prefix[k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // terminator 다음 위치를 돌려준다. 구간 안에 없으면 -1
+    private static int skipPast(byte[] buf, int i, int to, byte[] terminator) {
+        for (int last = to - terminator.length; i <= last; i++) {
+            if (startsWith(buf, i, terminator)) {
+                return i + terminator.length;
+            }
+        }
+        return -1;
+    }
+
+    // 속성을 읽고 '>' 다음 위치를 돌려준다. 구간 안에서 태그가 끝나지 않으면 -1
+    private static int scanElement(byte[] buf, int i, int to, PointConsumer consumer) {
+        double latitude = Double.NaN;
+        double longitude = Double.NaN;
+        while (true) {
+            while (i < to && isWhitespace(buf[i])) {
+                i++;
+            }
+            if (i >= to) {
+                return -1;
+            }
+            byte c = buf[i];
+            if (c == '>') {
+                break;
+            }
+            if (c == '/') {
+                i++;
+                continue;
+            }
+
+            int nameStart = i;
+            while (i < to && buf[i] != '=' && buf[i] != '>' && !isWhitespace(buf[i])) {
+                i++;
+            }
+            int nameEnd = i;
+            while (i < to && isWhitespace(buf[i])) {
+                i++;
+            }
+            if (i >= to) {
+                return -1;
+            }
+            if (buf[i] != '=') {
+                // 값 없는 속성은 무시
+                continue;
+            }
+            i++;
+            while (i < to && isWhitespace(buf[i])) {
+                i++;
+            }
+            if (i >= to) {
+                return -1;
+            }
+            byte quote = buf[i];
+            if (quote != '"' && quote != '\'') {
+                continue;
+            }
+            int valueStart = ++i;
+            while (i < to && buf[i] != quote) {
+                i++;
+            }
+            if (i >= to) {
+                return -1;
+            }
+            int valueEnd = i++;
+
+            if (isAttribute(buf, nameStart, nameEnd, 'a', 't')) {
+                latitude = parseDecimal(buf, valueStart, valueEnd);
+            } else if (isAttribute(buf, nameStart, nameEnd, 'o', 'n')) {
+                longitude = parseDecimal(buf, valueStart, valueEnd);
+            }
+        }
+
+        if (!Double.isNaN(latitude) && !Double.isNaN(longitude)) {
+            consumer.accept(latitude, longitude);
+        }
+        return i + 1;
+    }
+
+    // "lat" / "lon" 판별 (첫 글자는 항상 'l')
+    private static boolean isAttribute(byte[] buf, int start, int end, char second, char third) {
+        return end - start == 3 && buf[start] == 'l' && buf[start + 1] == second && buf[start + 2] == third;
+    }
+
+    /**
+     * 10진 실수 문자열을 파싱한다. 가수가 2^53 이하이고 지수가 작으면 한 번의 곱/나눗셈으로
+     * 정확한 값을 얻고, 그렇지 않은 경우(17자리 좌표 등)만 {@link Double#parseDouble}로 넘긴다.
+     *
+     * @return 형식이 맞지 않으면 NaN
+     */
+    public static double parseDecimal(byte[] buf, int from, int to) {
+        int i = from;
+        while (i < to && isWhitespace(buf[i])) {
+            i++;
+        }
+        while (to > i && isWhitespace(buf[to - 1])) {
+            to--;
+        }
+        if (i >= to) {
+            return Double.NaN;
+        }
+
+        boolean negative = false;
+        if (buf[i] == '-' || buf[i] == '+') {
+            negative = buf[i] == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        int digits = 0;
+        boolean fraction = false;
+        for (; i < to; i++) {
+            byte c = buf[i];
+            if (c >= '0' && c <= '9') {
+                digits++;
+                if (significantDigits < 18) {
+                    if (mantissa != 0 || c != '0') {
+                        significantDigits++;
+                    }
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (fraction) {
+                        exponent--;
+                    }
+                } else if (!fraction) {
+                    exponent++;
+                }
+            } else if (c == '.' && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return Double.NaN;
+        }
+
+        if (i < to && (buf[i] == 'e' || buf[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < to && (buf[i] == '-' || buf[i] == '+')) {
+                negativeExponent = buf[i] == '-';
+                i++;
+            }
+            int explicit = 0;
+            int exponentDigits = 0;
+            for (; i < to && buf[i] >= '0' && buf[i] <= '9'; i++) {
+                explicit = Math.min(explicit * 10 + (buf[i] - '0'), 1000);
+                exponentDigits++;
+            }
+            if (exponentDigits == 0) {
+                return Double.NaN;
+            }
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+        if (i != to) {
+            return Double.NaN;
+        }
+
+        if (mantissa > MAX_EXACT_MANTISSA || Math.abs(exponent) >= POWERS_OF_TEN.length || digits > 18) {
+            return Double.parseDouble(new String(buf, from, to - from, StandardCharsets.US_ASCII));
+        }
+        double value = mantissa;
+        if (exponent > 0) {
+            value *= POWERS_OF_TEN[exponent];
+        } else if (exponent < 0) {
+            value /= POWERS_OF_TEN[-exponent];
+        }
+        return negative ? -value : value;
+    }
+
+    private static boolean isWhitespace(byte c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.emulator.route;
+
+import java.util.Arrays;
+
+/**
+ * 파싱이 끝난 GPX 경로. 위도/경도를 primitive 배열로만 보관하며 생성 후 변경되지 않으므로
+ * 모든 차량 스케줄러가 같은 인스턴스를 공유한다.
+ * 시작점부터 각 포인트까지의 누적 거리도 생성 시 한 번 계산해 두어 거리 기반 재생이 포인트마다 다시 계산하지 않게 한다.
+ */
+public final class GpxRoute {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    private final int id;
+    private final String name;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final double[] cumulativeMeters;
+
+    private GpxRoute(int id, String name, double[] latitudes, double[] longitudes) {
+        this.id = id;
+        this.name = name;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.cumulativeMeters = new double[latitudes.length];
+        for (int i = 1; i < latitudes.length; i++) {
+            cumulativeMeters[i] = cumulativeMeters[i - 1]
+                    + distanceMeters(latitudes[i - 1], longitudes[i - 1], latitudes[i], longitudes[i]);
+        }
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int size() {
+        return latitudes.length;
+    }
+
+    public double latitude(int index) {
+        return latitudes[index];
+    }
+
+    public double longitude(int index) {
+        return longitudes[index];
+    }
+
+    // 시작점부터 index 포인트까지의 경로 거리 (m)
+    public double distanceAt(int index) {
+        return cumulativeMeters[index];
+    }
+
+    // 누적 거리 meters가 속한 구간의 시작 포인트 (distanceAt(i) <= meters 인 가장 큰 i 근처, 이분 탐색)
+    public int indexAt(double meters) {
+        int index = Arrays.binarySearch(cumulativeMeters, meters);
+        return index >= 0 ? index : Math.max(0, -index - 2);
+    }
+
+    public double totalMeters() {
+        return cumulativeMeters.length == 0 ? 0 : cumulativeMeters[cumulativeMeters.length - 1];
+    }
+
+    // 두 좌표 사이의 대권 거리 (haversine, m)
+    public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    // index → index+1 구간의 진행 방향 (북쪽 0도, 시계 방향 0~360)
+    public double bearing(int index) {
+        double lat1 = Math.toRadians(latitudes[index]);
+        double lat2 = Math.toRadians(latitudes[index + 1]);
+        double dLon = Math.toRadians(longitudes[index + 1] - longitudes[index]);
+        double y = Math.sin(dLon) * Math.cos(lat2);
+        double x = Math.cos(lat1) * Math.sin(lat2) - Math.sin(lat1) * Math.cos(lat2) * Math.cos(dLon);
+        return (Math.toDegrees(Math.atan2(y, x)) + 360) % 360;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public String toString() {
+        return "GpxRoute(id=" + id + ", name=" + name + ", size=" + size() + ")";
+    }
+
+    // 포인트 수를 모르는 상태에서 좌표를 누적하기 위한 빌더
+    public static final class Builder {
+
+        private double[] latitudes = new double[1024];
+        private double[] longitudes = new double[1024];
+        private int size;
+
+        private Builder() {
+        }
+
+        public Builder add(double latitude, double longitude) {
+            if (size == latitudes.length) {
+                int capacity = size + (size >> 1);
+                latitudes = Arrays.copyOf(latitudes, capacity);
+                longitudes = Arrays.copyOf(longitudes, capacity);
+            }
+            latitudes[size] = latitude;
+            longitudes[size] = longitude;
+            size++;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public GpxRoute build(int id, String name) {
+            return new GpxRoute(id, name, Arrays.copyOf(latitudes, size), Arrays.copyOf(longitudes, size));
+        }
+    }
+}
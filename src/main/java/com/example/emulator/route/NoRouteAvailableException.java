@@ -0,0 +1,9 @@
+package com.example.emulator.route;
+
+public class NoRouteAvailableException extends RuntimeException {
+
+    public NoRouteAvailableException() {
+        super("gpx 폴더 내에 파일이 없습니다.");
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.example.emulator.route;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+
+public interface RouteCatalog {
+
+    List<GpxRoute> findAll();
+
+    GpxRoute get(int routeId);
+
+    Optional<GpxRoute> findByName(String name);
+
+    // GPX 스트림을 파싱해 새 경로로 등록한다. 좌표가 없거나, 이름이 이미 있거나, 크기 상한을 넘으면 IllegalArgumentException
+    GpxRoute register(String name, InputStream in) throws IOException;
+}
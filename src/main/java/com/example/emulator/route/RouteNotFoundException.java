@@ -0,0 +1,9 @@
+package com.example.emulator.route;
+
+public class RouteNotFoundException extends RuntimeException {
+
+    public RouteNotFoundException(String routeName) {
+        super("해당 경로 ( " + routeName + " )는 존재하지 않습니다.");
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.example.emulator.application;
+
+import com.example.emulator.cluster.ClusterNode;
+import com.example.emulator.cluster.NodeRegistry;
+import com.example.emulator.cluster.RingChangedEvent;
+import com.example.emulator.config.ClusterProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClusterCoordinatorTest {
+
+    @Test
+    void 구성_변경_처리가_실패하면_다음_하트비트에서_다시_알린다() {
+        ClusterProperties properties = new ClusterProperties();
+        properties.setNodeId("node-a");
+        properties.setAdvertisedUrl("http://node-a");
+        List<ClusterNode> live = new ArrayList<>(List.of(new ClusterNode("node-a", "http://node-a")));
+        List<RingChangedEvent> events = new ArrayList<>();
+        int[] failures = {1};
+        ClusterCoordinator coordinator = new ClusterCoordinator(properties, new StubRegistry(live), event -> {
+            events.add((RingChangedEvent) event);
+            if (failures[0]-- > 0) {
+                throw new IllegalStateException("이어받기 실패");
+            }
+        });
+
+        assertThatThrownBy(coordinator::refresh).isInstanceOf(IllegalStateException.class);
+        coordinator.refresh();
+        coordinator.refresh();
+
+        assertThat(events).hasSize(2);
+
+        live.add(new ClusterNode("node-b", "http://node-b"));
+        coordinator.refresh();
+
+        assertThat(events).hasSize(3);
+        assertThat(events.get(2).ring().getNodes()).hasSize(2);
+    }
+
+    private record StubRegistry(List<ClusterNode> live) implements NodeRegistry {
+
+        @Override
+        public void heartbeat(ClusterNode node) {
+        }
+
+        @Override
+        public List<ClusterNode> findLiveNodes(long timeoutMillis) {
+            return List.copyOf(live);
+        }
+
+        @Override
+        public void leave(String nodeId) {
+        }
+    }
+}
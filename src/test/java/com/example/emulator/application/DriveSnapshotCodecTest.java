@@ -0,0 +1,56 @@
+package com.example.emulator.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DriveSnapshotCodecTest {
+
+    @Test
+    void 저장한_운행을_재생_위치와_미전송_버퍼까지_복원한다() throws Exception {
+        GpxPointBuffer buffer = new GpxPointBuffer(4);
+        buffer.add(1_700_000_000L, 375_665, 1_269_780);
+        buffer.add(1_700_000_001L, 375_667, 1_269_776);
+
+        DriveSnapshotCodec.ChunkWriter first = new DriveSnapshotCodec.ChunkWriter();
+        first.write("12가3456", "user", 1, 120, 5000, new FlushPolicy(60, 30), 1_699_999_880_000L, 120, null, buffer);
+        DriveSnapshotCodec.ChunkWriter second = new DriveSnapshotCodec.ChunkWriter();
+        second.write("34나5678", null, 0, 0, 800, new FlushPolicy(10, 5), Long.MIN_VALUE, 0,
+                new MotionModel.State(1234.5, 13.9, 2, Double.POSITIVE_INFINITY, 0), new GpxPointBuffer(1));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DriveSnapshotCodec.write(out, 42L, List.of("a.gpx", "b.gpx"), List.of(first.finish(), second.finish()));
+        DriveSnapshotCodec.Snapshot snapshot = DriveSnapshotCodec.read(
+                new DataInputStream(new ByteArrayInputStream(out.toByteArray())));
+
+        assertThat(snapshot.createdAtMillis()).isEqualTo(42L);
+        assertThat(snapshot.drives()).hasSize(2);
+        DriveSnapshot drive = snapshot.drives().get(0);
+        assertThat(drive.carNumber()).isEqualTo("12가3456");
+        assertThat(drive.loginId()).isEqualTo("user");
+        assertThat(drive.routeName()).isEqualTo("b.gpx");
+        assertThat(drive.currentIndex()).isEqualTo(120);
+        assertThat(drive.endIndex()).isEqualTo(5000);
+        assertThat(drive.batchSize()).isEqualTo(60);
+        assertThat(drive.maxLatencySeconds()).isEqualTo(30);
+        assertThat(drive.clockOriginMillis()).isEqualTo(1_699_999_880_000L);
+        assertThat(drive.clockTicks()).isEqualTo(120);
+        assertThat(drive.epochSeconds()).containsExactly(1_700_000_000L, 1_700_000_001L);
+        assertThat(drive.latitudesE4()).containsExactly(375_665, 375_667);
+        assertThat(drive.longitudesE4()).containsExactly(1_269_780, 1_269_776);
+        assertThat(drive.motion()).isNull();
+        assertThat(drive.speedsE1()).isNull();
+
+        DriveSnapshot empty = snapshot.drives().get(1);
+        assertThat(empty.loginId()).isNull();
+        assertThat(empty.routeName()).isEqualTo("a.gpx");
+        assertThat(empty.epochSeconds()).isEmpty();
+        assertThat(empty.clockOriginMillis()).isEqualTo(Long.MIN_VALUE);
+        assertThat(empty.motion()).isEqualTo(new MotionModel.State(1234.5, 13.9, 2, Double.POSITIVE_INFINITY, 0));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.emulator.application;
+
+import com.example.emulator.config.FleetProperties;
+import com.example.emulator.route.GpxRoute;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FleetTickEngineTest {
+
+    private static final Instant CLOCK_START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Test
+    void 샤드_수와_시동_시점이_달라도_같은_시각을_만든다() throws Exception {
+        List<Long> oneShard = firstTimestamps(1, 0);
+        List<Long> fourShards = firstTimestamps(4, 120);
+
+        assertThat(oneShard).hasSize(5);
+        assertThat(oneShard.get(0)).isEqualTo(CLOCK_START.getEpochSecond());
+        assertThat(fourShards).isEqualTo(oneShard);
+    }
+
+    // 엔진이 돌기 시작하고 delayMillis 뒤에 시동을 건 차량의 첫 배치 시각
+    private static List<Long> firstTimestamps(int shards, long delayMillis) throws Exception {
+        FleetProperties properties = new FleetProperties();
+        properties.setTickShards(shards);
+        properties.setSpeedMultiplier(100);
+        properties.setClockStart(CLOCK_START);
+        FleetTickEngine engine = new FleetTickEngine(properties, new SimpleMeterRegistry());
+        engine.start();
+        try {
+            Thread.sleep(delayMillis);
+            CompletableFuture<List<Long>> batch = new CompletableFuture<>();
+            GpxScheduler drive = new GpxScheduler((carNumber, loginId, buffer, release) -> {
+                List<Long> epochSeconds = new ArrayList<>();
+                for (int i = 0; i < buffer.size(); i++) {
+                    epochSeconds.add(buffer.epochSecond(i));
+                }
+                batch.complete(epochSeconds);
+                release.run();
+            }, engine);
+            drive.prepare("12가3456", "user", route(), 0, new FlushPolicy(5, 60));
+            drive.startScheduler();
+            return batch.get(10, TimeUnit.SECONDS);
+        } finally {
+            engine.stop();
+        }
+    }
+
+    private static GpxRoute route() {
+        GpxRoute.Builder builder = GpxRoute.builder();
+        for (int i = 0; i < 20; i++) {
+            builder.add(37.5 + i * 0.0001, 127.0 + i * 0.0001);
+        }
+        return builder.build(0, "test.gpx");
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.emulator.application;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GpxFormatsTest {
+
+    @Test
+    void 고정소수점_좌표는_소수점_4자리로_출력된다() {
+        double[] samples = {33.255445, 126.21085933333333, 0.00004, -0.5, -127.12345, 37.0, 0.0};
+        for (double sample : samples) {
+            assertThat(GpxFormats.formatCoordinate(GpxFormats.toE4(sample)))
+                    .isEqualTo(String.format("%.4f", sample));
+        }
+    }
+
+    @Test
+    void 같은_초의_시각_문자열은_재사용된다() {
+        String first = GpxFormats.formatTimestamp(1_700_000_000L);
+
+        assertThat(GpxFormats.formatTimestamp(1_700_000_000L)).isSameAs(first);
+        assertThat(first).matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}");
+    }
+}
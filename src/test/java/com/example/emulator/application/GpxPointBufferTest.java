@@ -0,0 +1,39 @@
+package com.example.emulator.application;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GpxPointBufferTest {
+
+    @Test
+    void 시각_좌표_속도_방향을_넣은_그대로_돌려준다() {
+        GpxPointBuffer buffer = new GpxPointBuffer(2);
+        buffer.add(1_700_000_000L, 375_665, 1_269_780, 1234, 359);
+        buffer.add(1_700_000_001L, -335_000, -705_000, 0, 0);
+        buffer.add(1_700_000_090L, 375_666, 1_269_781, 2999, 180);
+
+        assertThat(buffer.size()).isEqualTo(3);
+        assertThat(buffer.epochSecond(0)).isEqualTo(1_700_000_000L);
+        assertThat(buffer.epochSecond(2)).isEqualTo(1_700_000_090L);
+        assertThat(buffer.latitudeE4(1)).isEqualTo(-335_000);
+        assertThat(buffer.longitudeE4(1)).isEqualTo(-705_000);
+        assertThat(buffer.speedE1(0)).isEqualTo(1234);
+        assertThat(buffer.heading(0)).isEqualTo(359);
+        assertThat(buffer.speedE1(2)).isEqualTo(2999);
+        assertThat(buffer.heading(2)).isEqualTo(180);
+    }
+
+    @Test
+    void 비운_뒤에는_새_첫_포인트를_기준_시각으로_삼는다() {
+        GpxPointBuffer buffer = new GpxPointBuffer(4);
+        buffer.add(1_000L, 1, 2);
+        buffer.clear();
+
+        buffer.add(5_000L, 3, 4);
+
+        assertThat(buffer.hasMotion()).isFalse();
+        assertThat(buffer.epochSecond(0)).isEqualTo(5_000L);
+        assertThat(buffer.startTime()).isEqualTo(buffer.endTime());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.emulator.application;
+
+import com.example.emulator.config.BoundedVirtualThreadExecutor;
+import com.example.emulator.config.CollectorProperties;
+import com.example.emulator.config.SpoolProperties;
+import com.example.emulator.infrastructure.log.CollectorClient;
+import com.example.emulator.infrastructure.log.GpxPayloadEncoder;
+import com.example.emulator.infrastructure.log.GpxSpool;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GpxUploaderTest {
+
+    private final CountDownLatch blocked = new CountDownLatch(1);
+    private final AtomicInteger rejected = new AtomicInteger();
+    private final BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("test-", 2, rejected::incrementAndGet);
+
+    @AfterEach
+    void unblock() {
+        blocked.countDown();
+    }
+
+    @Test
+    void 가상_스레드_전송_작업이_상한에_닿으면_거절하고_끝나면_다시_받는다() throws InterruptedException {
+        saturate();
+
+        assertThatThrownBy(() -> executor.execute(() -> { })).isInstanceOf(RejectedExecutionException.class);
+        assertThat(rejected).hasValue(1);
+
+        blocked.countDown();
+        CountDownLatch ran = new CountDownLatch(1);
+        while (executor.active() > 0) {
+            Thread.sleep(10);
+        }
+        executor.execute(ran::countDown);
+        ran.await();
+    }
+
+    @Test
+    void 가상_스레드_모드에서도_전송_큐가_가득_차면_큐_정책대로_배치를_버린다() {
+        CollectorProperties collectorProperties = new CollectorProperties();
+        collectorProperties.setQueueFullPolicy(CollectorProperties.QueueFullPolicy.DROP_NEWEST);
+        GpxUploader uploader = new GpxUploader(
+                new CollectorClient(HttpClient.newHttpClient(), collectorProperties),
+                new GpxPayloadEncoder(new ObjectMapper(), collectorProperties),
+                collectorProperties,
+                new GpxSpool(new SpoolProperties()),
+                executor,
+                new SimpleMeterRegistry());
+        saturate();
+        AtomicInteger released = new AtomicInteger();
+
+        GpxPointBuffer batch = new GpxPointBuffer(1);
+        batch.add(1_700_000_000L, 375_665, 1_269_780);
+        uploader.submit("12가3456", "user", batch, released::incrementAndGet);
+
+        // 전송 스레드를 기다리지 않고 바로 버리고 버퍼를 돌려준다
+        assertThat(released).hasValue(1);
+        assertThat(uploader.getStats().getDropped()).isEqualTo(1);
+    }
+
+    private void saturate() {
+        for (int i = 0; i < 2; i++) {
+            executor.execute(() -> {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        assertThat(executor.active()).isEqualTo(2);
+    }
+}
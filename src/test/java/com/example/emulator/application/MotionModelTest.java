@@ -0,0 +1,75 @@
+package com.example.emulator.application;
+
+import com.example.emulator.route.GpxRoute;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MotionModelTest {
+
+    // 북쪽으로 0.001도(약 111m)씩 10구간
+    private static final GpxRoute ROUTE = route(11);
+
+    @Test
+    void 누적_거리를_따라_가속해_순항하고_경로_끝에서_멈춘다() {
+        MotionModel motion = new MotionModel(new MotionProfile(10, 2, 2, 0, 0, 1L, 1), ROUTE, 0, ROUTE.size());
+
+        int ticks = 0;
+        int maxSpeed = 0;
+        while (motion.advance()) {
+            ticks++;
+            maxSpeed = Math.max(maxSpeed, motion.speedKmhE1());
+            assertThat(motion.headingDegrees()).isZero();
+        }
+
+        assertThat(ROUTE.totalMeters()).isCloseTo(1112, within(1.0));
+        assertThat(maxSpeed).isEqualTo(360);
+        assertThat(ticks).isBetween(111, 130);
+        assertThat(motion.segment()).isEqualTo(ROUTE.size() - 2);
+        assertThat(motion.latitude()).isEqualTo(ROUTE.latitude(ROUTE.size() - 1));
+    }
+
+    @Test
+    void 정차하고_저장한_상태에서_같은_주행을_이어간다() {
+        MotionProfile profile = new MotionProfile(10, 2, 2, 300, 10, 42L, 1);
+        MotionModel original = new MotionModel(profile, ROUTE, 2, ROUTE.size());
+        boolean stopped = false;
+        for (int i = 0; i < 60; i++) {
+            original.advance();
+            stopped |= original.speedKmhE1() == 0;
+        }
+        MotionModel restored = new MotionModel(profile, ROUTE, 2, ROUTE.size());
+        restored.restore(original.state());
+
+        assertThat(stopped).isTrue();
+        boolean moving = true;
+        while (moving) {
+            moving = original.advance();
+            assertThat(restored.advance()).isEqualTo(moving);
+            assertThat(restored.latitude()).isEqualTo(original.latitude());
+            assertThat(restored.speedKmhE1()).isEqualTo(original.speedKmhE1());
+        }
+    }
+
+    @Test
+    void 정차_시간이_0이어도_멈춘_뒤_다시_출발해_경로를_마친다() {
+        MotionModel motion = new MotionModel(new MotionProfile(10, 2, 2, 100, 0, 7L, 1), ROUTE, 0, ROUTE.size());
+
+        int ticks = 0;
+        while (motion.advance()) {
+            ticks++;
+            assertThat(ticks).isLessThan(1_000);
+        }
+
+        assertThat(motion.latitude()).isEqualTo(ROUTE.latitude(ROUTE.size() - 1));
+    }
+
+    private static GpxRoute route(int points) {
+        GpxRoute.Builder builder = GpxRoute.builder();
+        for (int i = 0; i < points; i++) {
+            builder.add(37.5 + i * 0.001, 127.0);
+        }
+        return builder.build(0, "north.gpx");
+    }
+}
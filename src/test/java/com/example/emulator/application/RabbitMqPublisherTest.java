@@ -0,0 +1,215 @@
+package com.example.emulator.application;
+
+import com.example.emulator.application.dto.DriveLogEventDto;
+import com.example.emulator.config.DriveLogProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.net.ConnectException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RabbitMqPublisherTest {
+
+    private final StubRabbitTemplate rabbitTemplate = new StubRabbitTemplate();
+    private final DriveLogProperties properties = new DriveLogProperties();
+    private RabbitMqPublisher publisher;
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        // 남은 이벤트는 바로 ack해 종료 시 확인 대기를 줄인다
+        rabbitTemplate.ackAll();
+        rabbitTemplate.unblock.countDown();
+        publisher.stop();
+    }
+
+    @Test
+    void ack을_받으면_확인으로_집계한다() {
+        start();
+        publisher.sendMessage("drive.log.exchange", "drive.log.ON", event("12가0001"));
+
+        awaitUntil(() -> rabbitTemplate.sent.size() == 1);
+        rabbitTemplate.confirm(0, true);
+
+        awaitUntil(() -> publisher.getStats().getConfirmed() == 1);
+        assertThat(publisher.getStats().getUnconfirmed()).isZero();
+    }
+
+    @Test
+    void nack이나_확인_시간_초과면_다시_발행하고_횟수를_넘으면_버린다() {
+        properties.setConfirmTimeoutMillis(100);
+        properties.setMaxAttempts(3);
+        start();
+        publisher.sendMessage("drive.log.exchange", "drive.log.ON", event("12가0001"));
+
+        awaitUntil(() -> rabbitTemplate.sent.size() == 1);
+        rabbitTemplate.confirm(0, false);
+        // 두 번째 발행은 확인하지 않아 시간 초과로 다시 발행된다
+        awaitUntil(() -> rabbitTemplate.sent.size() == 3);
+        rabbitTemplate.confirm(2, false);
+
+        awaitUntil(() -> publisher.getStats().getDropped() == 1);
+        assertThat(publisher.getStats().getNacked()).isEqualTo(3);
+        assertThat(publisher.getStats().getRetried()).isEqualTo(2);
+    }
+
+    @Test
+    void 재발행하는_동안_같은_차량의_다음_이벤트는_기다린다() {
+        start();
+        publisher.sendMessage("drive.log.exchange", "drive.log.ON", event("12가0001"));
+        publisher.sendMessage("drive.log.exchange", "drive.log.OFF", event("12가0001"));
+        publisher.sendMessage("drive.log.exchange", "drive.log.ON", event("34나0002"));
+
+        awaitUntil(() -> rabbitTemplate.sent.size() == 2);
+        assertThat(publisher.getStats().getWaiting()).isEqualTo(1);
+        rabbitTemplate.confirm(rabbitTemplate.indexOf("12가0001", 0), false);
+        awaitUntil(() -> rabbitTemplate.sent.size() == 3);
+        rabbitTemplate.confirm(2, true);
+        awaitUntil(() -> rabbitTemplate.sent.size() == 4);
+
+        assertThat(rabbitTemplate.routingKeys("12가0001")).containsExactly("drive.log.ON", "drive.log.ON", "drive.log.OFF");
+    }
+
+    @Test
+    void 브로커_연결_실패는_재발행_횟수에_넣지_않고_백오프하며_다시_보낸다() {
+        properties.setMaxAttempts(2);
+        rabbitTemplate.connectFailures.set(5);
+        start();
+        publisher.sendMessage("drive.log.exchange", "drive.log.ON", event("12가0001"));
+
+        awaitUntil(() -> rabbitTemplate.sent.size() == 1);
+        rabbitTemplate.confirm(0, true);
+
+        awaitUntil(() -> publisher.getStats().getConfirmed() == 1);
+        assertThat(publisher.getStats().getDropped()).isZero();
+        assertThat(publisher.getStats().getRetried()).isEqualTo(5);
+    }
+
+    @Test
+    void 발행_큐가_가득_차면_새_이벤트를_버린다() {
+        properties.setQueueCapacity(1);
+        properties.setBatchSize(1);
+        rabbitTemplate.blocking = true;
+        start();
+        publisher.sendMessage("drive.log.exchange", "drive.log.ON", event("12가0001"));
+        // 발행 스레드가 첫 이벤트를 들고 막혀 있는 동안 큐에는 한 건만 들어간다
+        awaitUntil(() -> rabbitTemplate.blockedCalls.get() == 1);
+        publisher.sendMessage("drive.log.exchange", "drive.log.ON", event("34나0002"));
+        publisher.sendMessage("drive.log.exchange", "drive.log.ON", event("56다0003"));
+
+        assertThat(publisher.getStats().getDropped()).isEqualTo(1);
+        assertThat(publisher.getStats().getQueued()).isEqualTo(1);
+    }
+
+    private void start() {
+        properties.setLingerMillis(0);
+        properties.setInitialBackoffMillis(1);
+        properties.setMaxBackoffMillis(5);
+        publisher = new RabbitMqPublisher(rabbitTemplate, properties, new SimpleMeterRegistry());
+        publisher.start();
+    }
+
+    private static DriveLogEventDto event(String carNumber) {
+        return DriveLogEventDto.builder().carNumber(carNumber).build();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("조건을 기다리다 시간 초과").isLessThan(deadline);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    // 실제로 연결하지 않고 발행 내용과 correlation을 모아 두는 템플릿 (confirm은 테스트가 직접 완료한다)
+    private static final class StubRabbitTemplate extends RabbitTemplate {
+
+        private final List<Sent> sent = new CopyOnWriteArrayList<>();
+        private final AtomicInteger connectFailures = new AtomicInteger();
+        private final AtomicInteger blockedCalls = new AtomicInteger();
+        private final CountDownLatch unblock = new CountDownLatch(1);
+        private volatile boolean blocking;
+        private volatile boolean autoAck;
+
+        private StubRabbitTemplate() {
+            super(confirmingConnectionFactory());
+        }
+
+        private static CachingConnectionFactory confirmingConnectionFactory() {
+            CachingConnectionFactory connectionFactory = new CachingConnectionFactory();
+            connectionFactory.setPublisherConfirmType(CachingConnectionFactory.ConfirmType.CORRELATED);
+            return connectionFactory;
+        }
+
+        @Override
+        public <T> T invoke(OperationsCallback<T> action, com.rabbitmq.client.ConfirmCallback acks,
+                            com.rabbitmq.client.ConfirmCallback nacks) {
+            if (connectFailures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                throw new AmqpConnectException(new ConnectException("Connection refused"));
+            }
+            if (blocking) {
+                blockedCalls.incrementAndGet();
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            try {
+                return action.doInRabbit(this);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void convertAndSend(String exchange, String routingKey, Object message, CorrelationData correlationData) {
+            sent.add(new Sent(routingKey, ((DriveLogEventDto) message).getCarNumber(), correlationData));
+            if (autoAck) {
+                correlationData.getFuture().complete(new CorrelationData.Confirm(true, null));
+            }
+        }
+
+        private void ackAll() {
+            autoAck = true;
+            for (int i = 0; i < sent.size(); i++) {
+                confirm(i, true);
+            }
+        }
+
+        private void confirm(int index, boolean ack) {
+            sent.get(index).correlation().getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "nack"));
+        }
+
+        private int indexOf(String carNumber, int from) {
+            for (int i = from; i < sent.size(); i++) {
+                if (sent.get(i).carNumber().equals(carNumber)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private List<String> routingKeys(String carNumber) {
+            return sent.stream().filter(s -> s.carNumber().equals(carNumber)).map(Sent::routingKey).toList();
+        }
+    }
+
+    private record Sent(String routingKey, String carNumber, CorrelationData correlation) {
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.emulator.application;
+
+import com.example.emulator.config.RouteProperties;
+import com.example.emulator.route.GpxRoute;
+import com.example.emulator.route.RouteCatalog;
+import com.example.emulator.route.NoRouteAvailableException;
+import com.example.emulator.route.RouteNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RouteSelectorTest {
+
+    private final RouteCatalog catalog = new StubCatalog(IntStream.range(0, 5).mapToObj(i -> route(i, 1000)).toList());
+
+    @Test
+    void 같은_seed면_차량별로_같은_경로와_시작_위치를_고른다() {
+        RouteSelector first = new RouteSelector(catalog, properties(42L));
+        RouteSelector second = new RouteSelector(catalog, properties(42L));
+
+        for (int i = 0; i < 100; i++) {
+            String carNumber = "12가" + (1000 + i);
+            assertThat(second.select(carNumber, null)).isEqualTo(first.select(carNumber, null));
+        }
+        assertThat(IntStream.range(0, 100).mapToObj(i -> first.select("12가" + (1000 + i), null).route()).distinct())
+                .hasSizeGreaterThan(1);
+    }
+
+    @Test
+    void 고정_경로는_처음부터_재생하고_없는_경로는_거부한다() {
+        RouteProperties properties = properties(42L);
+        properties.getPinned().put("12가3456", "route-3.gpx");
+        RouteSelector selector = new RouteSelector(catalog, properties);
+
+        assertThat(selector.select("12가3456", null).route().getName()).isEqualTo("route-3.gpx");
+        assertThat(selector.select("12가3456", null).startIndex()).isZero();
+        assertThat(selector.select("12가3456", "route-1.gpx").route().getName()).isEqualTo("route-1.gpx");
+        assertThatThrownBy(() -> selector.select("12가3456", "missing.gpx")).isInstanceOf(RouteNotFoundException.class);
+    }
+
+    @Test
+    void 로드된_경로가_없으면_예외를_던진다() {
+        RouteSelector selector = new RouteSelector(new StubCatalog(List.of()), properties(42L));
+
+        assertThatThrownBy(() -> selector.select("12가3456", null)).isInstanceOf(NoRouteAvailableException.class);
+    }
+
+    private static RouteProperties properties(long seed) {
+        RouteProperties properties = new RouteProperties();
+        properties.setSeed(seed);
+        return properties;
+    }
+
+    private static GpxRoute route(int id, int points) {
+        GpxRoute.Builder builder = GpxRoute.builder();
+        for (int i = 0; i < points; i++) {
+            builder.add(37.0 + i * 1e-4, 127.0);
+        }
+        return builder.build(id, "route-" + id + ".gpx");
+    }
+
+    private record StubCatalog(List<GpxRoute> routes) implements RouteCatalog {
+
+        @Override
+        public List<GpxRoute> findAll() {
+            return routes;
+        }
+
+        @Override
+        public GpxRoute get(int routeId) {
+            return routes.get(routeId);
+        }
+
+        @Override
+        public Optional<GpxRoute> findByName(String name) {
+            return routes.stream().filter(route -> route.getName().equals(name)).findFirst();
+        }
+
+        @Override
+        public GpxRoute register(String name, InputStream in) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
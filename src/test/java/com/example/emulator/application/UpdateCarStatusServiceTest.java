@@ -0,0 +1,55 @@
+package com.example.emulator.application;
+
+import com.example.emulator.car.CarStatus;
+import com.example.emulator.car.CarStatusChange;
+import com.example.emulator.config.CarStatusProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpdateCarStatusServiceTest {
+
+    private final List<List<CarStatusChange>> written = new ArrayList<>();
+    private boolean failing;
+
+    private final updateCarStatusService service = new updateCarStatusService(changes -> {
+        if (failing) {
+            throw new IllegalStateException("db down");
+        }
+        written.add(List.copyOf(changes));
+    }, new CarStatusProperties(), List.of());
+
+    @Test
+    void 같은_차량의_변경은_이벤트_시각이_가장_늦은_것만_반영한다() {
+        service.updateCarStatusAsync("12가3456", CarStatus.DRIVING, 2_000);
+        service.updateCarStatusAsync("12가3456", CarStatus.IDLE, 1_000);
+        service.updateCarStatusAsync("34나5678", CarStatus.DRIVING, 1_000);
+
+        service.flush();
+
+        assertThat(written).hasSize(1);
+        assertThat(written.get(0)).containsExactlyInAnyOrder(
+                new CarStatusChange("12가3456", CarStatus.DRIVING, 2_000),
+                new CarStatusChange("34나5678", CarStatus.DRIVING, 1_000));
+        assertThat(service.getPendingCount()).isZero();
+    }
+
+    @Test
+    void 반영에_실패하면_더_새로운_변경이_없을_때만_다시_대기한다() {
+        service.updateCarStatusAsync("12가3456", CarStatus.DRIVING, 1_000);
+        service.updateCarStatusAsync("34나5678", CarStatus.DRIVING, 1_000);
+        failing = true;
+        service.flush();
+
+        service.updateCarStatusAsync("12가3456", CarStatus.IDLE, 2_000);
+        failing = false;
+        service.flush();
+
+        assertThat(written.get(0)).containsExactlyInAnyOrder(
+                new CarStatusChange("12가3456", CarStatus.IDLE, 2_000),
+                new CarStatusChange("34나5678", CarStatus.DRIVING, 1_000));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.emulator.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashRingTest {
+
+    private static final int CARS = 30_000;
+
+    @Test
+    void 차량이_노드에_고르게_나뉜다() {
+        HashRing ring = new HashRing(nodes(3), 128);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < CARS; i++) {
+            counts.merge(ring.ownerOf(carNumber(i)).nodeId(), 1, Integer::sum);
+        }
+
+        assertThat(counts).hasSize(3);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(CARS / 3 * 8 / 10, CARS / 3 * 12 / 10));
+    }
+
+    @Test
+    void 노드가_추가되면_새_노드로_가는_차량만_담당이_바뀐다() {
+        HashRing before = new HashRing(nodes(3), 128);
+        HashRing after = new HashRing(nodes(4), 128);
+
+        int moved = 0;
+        for (int i = 0; i < CARS; i++) {
+            ClusterNode previous = before.ownerOf(carNumber(i));
+            ClusterNode current = after.ownerOf(carNumber(i));
+            if (!previous.equals(current)) {
+                assertThat(current.nodeId()).isEqualTo("node-3");
+                moved++;
+            }
+        }
+
+        assertThat(moved).isBetween(CARS / 4 * 8 / 10, CARS / 4 * 12 / 10);
+    }
+
+    private static List<ClusterNode> nodes(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new ClusterNode("node-" + i, "http://node-" + i + ":8081"))
+                .toList();
+    }
+
+    private static String carNumber(int i) {
+        return String.format("%02d가%04d", i / 10_000, i % 10_000);
+    }
+}
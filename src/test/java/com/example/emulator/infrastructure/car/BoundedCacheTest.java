@@ -0,0 +1,52 @@
+package com.example.emulator.infrastructure.car;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedCacheTest {
+
+    @Test
+    void 크기를_넘으면_가장_오래_쓰지_않은_항목을_제거한다() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(2, TimeUnit.MINUTES.toNanos(1));
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+
+        cache.put("c", 3);
+
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isEqualTo(1);
+        assertThat(cache.get("c")).isEqualTo(3);
+        assertThat(cache.getEvictions()).isEqualTo(1);
+        assertThat(cache.getHits()).isEqualTo(3);
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void 무게_합이_넘으면_오래된_항목부터_제거하고_혼자_넘는_항목은_보관하지_않는다() {
+        BoundedCache<String, List<Integer>> cache = new BoundedCache<>(5, TimeUnit.MINUTES.toNanos(1), List::size);
+        cache.put("a", List.of(1, 2));
+        cache.put("b", List.of(1, 2));
+        cache.put("c", List.of(1, 2));
+
+        cache.put("d", List.of(1, 2, 3, 4, 5, 6));
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isNotNull();
+        assertThat(cache.get("d")).isNull();
+        assertThat(cache.weight()).isEqualTo(4);
+    }
+
+    @Test
+    void 만료된_항목은_미스로_처리하고_제거한다() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10, 0);
+        cache.put("a", 1);
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+}
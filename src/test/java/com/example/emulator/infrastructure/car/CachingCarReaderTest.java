@@ -0,0 +1,50 @@
+package com.example.emulator.infrastructure.car;
+
+import com.example.emulator.car.CarStatus;
+import com.example.emulator.car.CarStatusChange;
+import com.example.emulator.car.domain.CarEntity;
+import com.example.emulator.config.CarCacheProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingCarReaderTest {
+
+    // DB에는 아직 IDLE로 남아 있다 (write-behind 반영 전)
+    private CarStatus dbStatus = CarStatus.IDLE;
+
+    private final CachingCarReader reader = new CachingCarReader(new CarReaderImpl(null) {
+        @Override
+        public Optional<CarEntity> findByCarNumber(String carNumber) {
+            return Optional.of(new CarEntity(0, 1, dbStatus, carNumber, "user"));
+        }
+
+        @Override
+        public List<CarEntity> findAll(String loginId) {
+            return List.of(new CarEntity(0, 1, dbStatus, "12가3456", loginId));
+        }
+    }, new CarCacheProperties());
+
+    @Test
+    void DB_반영_전에_새로_읽은_항목에도_바뀐_상태를_덮어쓴다() {
+        reader.onStatusChanged("12가3456", CarStatus.DRIVING);
+
+        assertThat(reader.findByCarNumber("12가3456")).get().extracting(CarEntity::getStatus).isEqualTo(CarStatus.DRIVING);
+        assertThat(reader.findAll("user")).extracting(CarEntity::getStatus).containsExactly(CarStatus.DRIVING);
+    }
+
+    @Test
+    void DB에_반영된_뒤에는_DB_값을_따른다() {
+        reader.onStatusChanged("12가3456", CarStatus.DRIVING);
+        dbStatus = CarStatus.DRIVING;
+        reader.onStatusesWritten(List.of(new CarStatusChange("12가3456", CarStatus.DRIVING, 0)));
+
+        dbStatus = CarStatus.MAINTENANCE;
+
+        assertThat(reader.findAll("user")).extracting(CarEntity::getStatus).containsExactly(CarStatus.MAINTENANCE);
+        assertThat(reader.getStats().getPendingStatuses()).isZero();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.emulator.infrastructure.location;
+
+import com.example.emulator.application.GpxPointBuffer;
+import com.example.emulator.config.LocationProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocationBinaryCodecTest {
+
+    @Test
+    void 인코딩한_배치를_그대로_복원한다() {
+        GpxPointBuffer batch = new GpxPointBuffer(4);
+        batch.add(1_700_000_000L, 375_665, 1_269_780);
+        batch.add(1_700_000_001L, 375_667, 1_269_776);
+        batch.add(1_700_000_003L, -375_667, -1_269_776);
+
+        byte[] bytes = LocationBinaryCodec.encode("12가3456", "user", batch);
+        LocationBatch decoded = LocationBinaryCodec.decode(bytes);
+
+        assertThat(decoded).isEqualTo(LocationBatch.copyOf("12가3456", "user", batch));
+        assertThat(bytes.length).isLessThan(64);
+    }
+
+    @Test
+    void 속도와_방향이_있는_배치도_복원한다() {
+        GpxPointBuffer batch = new GpxPointBuffer(1);
+        batch.add(1_700_000_000L, 375_665, 1_269_780, 0, 90);
+        batch.add(1_700_000_001L, 375_667, 1_269_776, 125, 359);
+
+        byte[] bytes = LocationBinaryCodec.encode("12가3456", "user", batch);
+        LocationBatch decoded = LocationBinaryCodec.decode(bytes);
+
+        assertThat(bytes[0]).isEqualTo(LocationBinaryCodec.MOTION_VERSION);
+        assertThat(decoded).isEqualTo(LocationBatch.copyOf("12가3456", "user", batch));
+        assertThat(decoded.speedsE1()).containsExactly(0, 125);
+        assertThat(decoded.headings()).containsExactly(90, 359);
+    }
+
+    @Test
+    void 메모리_저장소는_배치를_복사해_두고_버퍼를_바로_돌려준다() {
+        InMemoryLocationSink sink = new InMemoryLocationSink(new LocationProperties());
+        GpxPointBuffer batch = new GpxPointBuffer(4);
+        batch.add(1_700_000_000L, 375_665, 1_269_780);
+        boolean[] released = {false};
+
+        sink.submit("12가3456", "user", batch, () -> {
+            batch.clear();
+            released[0] = true;
+        });
+
+        assertThat(released[0]).isTrue();
+        assertThat(sink.drain()).singleElement()
+                .satisfies(stored -> assertThat(stored.latitudesE4()).containsExactly(375_665));
+        assertThat(sink.size()).isZero();
+    }
+}
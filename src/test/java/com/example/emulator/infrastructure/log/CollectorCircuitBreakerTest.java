@@ -0,0 +1,57 @@
+package com.example.emulator.infrastructure.log;
+
+import com.example.emulator.config.CollectorProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CollectorCircuitBreakerTest {
+
+    @Test
+    void 연속_실패가_기준에_닿으면_요청을_막는다() {
+        CollectorCircuitBreaker breaker = new CollectorCircuitBreaker(2, 60_000);
+
+        breaker.onFailure();
+        assertThat(breaker.allowRequest()).isTrue();
+        breaker.onFailure();
+
+        assertThat(breaker.getState()).isEqualTo(CollectorCircuitBreaker.State.OPEN);
+        assertThat(breaker.allowRequest()).isFalse();
+    }
+
+    @Test
+    void 대기_시간이_지나면_시험_요청_한_건만_보내고_성공하면_닫힌다() {
+        CollectorCircuitBreaker breaker = new CollectorCircuitBreaker(1, 0);
+        breaker.onFailure();
+
+        assertThat(breaker.allowRequest()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(CollectorCircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.allowRequest()).isFalse();
+
+        breaker.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(CollectorCircuitBreaker.State.CLOSED);
+        assertThat(breaker.allowRequest()).isTrue();
+    }
+
+    @Test
+    void 시험_요청을_보내기_전에_실패해도_차단기가_멈추지_않는다() {
+        CollectorProperties properties = new CollectorProperties();
+        properties.getCircuitBreaker().setFailureThreshold(1);
+        properties.getCircuitBreaker().setOpenMillis(0);
+        CollectorClient client = new CollectorClient(HttpClient.newHttpClient(), properties);
+        GpxPayload payload = new GpxPayload(new byte[0], MediaType.APPLICATION_JSON, false, 0);
+
+        // 잘못된 path는 요청을 만들 때 IllegalArgumentException. 세 번째는 두 번째(HALF_OPEN 시험 요청) 실패 뒤 다시 시험할 수 있어야 한다
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> client.post("bad path", payload).get())
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(IllegalArgumentException.class);
+        }
+        assertThat(client.getCircuitState()).isEqualTo(CollectorCircuitBreaker.State.OPEN);
+    }
+}
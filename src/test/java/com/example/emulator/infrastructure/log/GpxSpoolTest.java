@@ -0,0 +1,99 @@
+package com.example.emulator.infrastructure.log;
+
+import com.example.emulator.config.SpoolProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GpxSpoolTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void 세그먼트를_넘겨도_넣은_순서대로_꺼낸다() throws Exception {
+        GpxSpool spool = open(4096);
+        for (int i = 0; i < 100; i++) {
+            assertThat(spool.append("/api/logs/gps", payload("batch-" + i))).isTrue();
+        }
+        assertThat(spool.getSegmentCount()).isGreaterThan(1);
+
+        for (int i = 0; i < 100; i++) {
+            SpooledBatch batch = spool.peek();
+            assertThat(batch.path()).isEqualTo("/api/logs/gps");
+            assertThat(batch.payload().isGzipped()).isTrue();
+            assertThat(new String(batch.payload().getBody(), StandardCharsets.UTF_8)).isEqualTo("batch-" + i);
+            spool.commit(batch);
+        }
+        assertThat(spool.isEmpty()).isTrue();
+        assertThat(spool.peek()).isNull();
+        assertThat(spool.getSegmentCount()).isEqualTo(1);
+        try (var files = Files.list(dir)) {
+            assertThat(files.filter(f -> f.toString().endsWith(".seg")).count()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void 다시_열면_체크포인트_이후부터_읽는다() {
+        GpxSpool spool = open(4096);
+        for (int i = 0; i < 50; i++) {
+            spool.append("/api/logs/gps", payload("batch-" + i));
+        }
+        for (int i = 0; i < 20; i++) {
+            spool.commit(spool.peek());
+        }
+        spool.close();
+
+        GpxSpool reopened = open(4096);
+
+        assertThat(reopened.getPendingRecords()).isEqualTo(30);
+        assertThat(new String(reopened.peek().payload().getBody(), StandardCharsets.UTF_8)).isEqualTo("batch-20");
+        reopened.append("/api/logs/gps", payload("batch-50"));
+        for (int i = 20; i <= 50; i++) {
+            SpooledBatch batch = reopened.peek();
+            assertThat(new String(batch.payload().getBody(), StandardCharsets.UTF_8)).isEqualTo("batch-" + i);
+            reopened.commit(batch);
+        }
+        assertThat(reopened.isEmpty()).isTrue();
+    }
+
+    @Test
+    void 세그먼트가_모두_차면_거부한다() {
+        // 레코드 하나가 154바이트라 세그먼트(256바이트)마다 하나씩, 최대 2개 세그먼트
+        GpxSpool spool = open(256, 2);
+
+        int accepted = 0;
+        while (spool.append("/api/logs/gps", payload("x".repeat(100)))) {
+            accepted++;
+        }
+
+        assertThat(accepted).isEqualTo(2);
+        assertThat(spool.getPendingRecords()).isEqualTo(accepted);
+    }
+
+    private GpxSpool open(int segmentBytes) {
+        return open(segmentBytes, 64);
+    }
+
+    private GpxSpool open(int segmentBytes, int maxSegments) {
+        SpoolProperties properties = new SpoolProperties();
+        properties.setEnabled(true);
+        properties.setDir(dir.toString());
+        properties.setSegmentBytes(segmentBytes);
+        properties.setMaxSegments(maxSegments);
+        GpxSpool spool = new GpxSpool(properties);
+        spool.open();
+        return spool;
+    }
+
+    private static GpxPayload payload(String body) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return new GpxPayload(bytes, MediaType.APPLICATION_JSON, true, bytes.length);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.emulator.infrastructure.route;
+
+import com.example.emulator.config.RouteProperties;
+import com.example.emulator.route.GpxRoute;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GpxRouteCatalogTest {
+
+    private final RouteProperties properties = new RouteProperties();
+    private final GpxRouteCatalog catalog = new GpxRouteCatalog(properties);
+
+    @Test
+    void 같은_이름의_경로는_다시_등록할_수_없다() throws IOException {
+        catalog.register("route.gpx", gpx(3));
+
+        assertThatThrownBy(() -> catalog.register("route.gpx", gpx(5)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catalog.findAll()).hasSize(1);
+        assertThat(catalog.findByName("route.gpx")).get().extracting(GpxRoute::size).isEqualTo(3);
+    }
+
+    @Test
+    void 포인트_수나_본문_크기_상한을_넘는_업로드는_거절한다() {
+        properties.setMaxUploadPoints(10);
+        assertThatThrownBy(() -> catalog.register("points.gpx", gpx(11)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        properties.setMaxUploadPoints(1_000);
+        properties.setMaxUploadBytes(1_024);
+        assertThatThrownBy(() -> catalog.register("bytes.gpx", gpx(100)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catalog.findAll()).isEmpty();
+    }
+
+    private static InputStream gpx(int points) {
+        StringBuilder gpx = new StringBuilder("<gpx><trk><trkseg>");
+        for (int i = 0; i < points; i++) {
+            gpx.append("<trkpt lat=\"37.").append(i).append("\" lon=\"127.").append(i).append("\"/>");
+        }
+        gpx.append("</trkseg></trk></gpx>");
+        return new ByteArrayInputStream(gpx.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.emulator.infrastructure.route;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GpxStreamReaderTest {
+
+    @Test
+    void 읽기_경계에서_잘린_요소도_이어서_읽는다() throws IOException {
+        StringBuilder gpx = new StringBuilder("<gpx><trk><trkseg>");
+        for (int i = 0; i < 10_000; i++) {
+            gpx.append("<trkpt lat=\"").append(i).append(".5\" lon=\"").append(-i).append(".25\"/>");
+        }
+        gpx.append("</trkseg></trk></gpx>");
+        List<double[]> points = new ArrayList<>();
+
+        GpxStreamReader.read(new TrickleInputStream(gpx.toString().getBytes(StandardCharsets.UTF_8)),
+                (lat, lon) -> points.add(new double[]{lat, lon}));
+
+        assertThat(points).hasSize(10_000);
+        assertThat(points.get(9_999)).containsExactly(9_999.5, -9_999.25);
+    }
+
+    // read 호출마다 몇 바이트씩만 돌려주는 스트림
+    private static final class TrickleInputStream extends InputStream {
+
+        private final ByteArrayInputStream delegate;
+
+        private TrickleInputStream(byte[] bytes) {
+            this.delegate = new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public int read() {
+            return delegate.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            return delegate.read(b, off, Math.min(len, 7));
+        }
+    }
+}
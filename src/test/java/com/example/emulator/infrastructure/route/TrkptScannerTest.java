@@ -0,0 +1,75 @@
+package com.example.emulator.infrastructure.route;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrkptScannerTest {
+
+    @Test
+    void 여러_줄_GPX에서_좌표를_읽는다() {
+        String gpx = """
+                <gpx><trk><trkseg>
+                  <trkpt lat="33.255445" lon="126.2106" />
+                  <trkpt lat="33.255535333333334" lon="126.21085933333333" />
+                </trkseg></trk></gpx>
+                """;
+
+        List<double[]> points = scanAll(gpx);
+
+        assertThat(points).hasSize(2);
+        assertThat(points.get(0)).containsExactly(33.255445, 126.2106);
+        assertThat(points.get(1)[0]).isCloseTo(33.255535333333334, org.assertj.core.data.Offset.offset(1e-12));
+    }
+
+    @Test
+    void 한_줄_GPX와_속성_순서_따옴표_종류에_관계없이_읽는다() {
+        String gpx = "<gpx><trkseg><trkpt lon='127.5' lat='37.25'><ele>10</ele></trkpt>"
+                + "<trkpt\n  lat = \"-1.5e1\"\tlon=\"+2\"/><trkseg2/><trkptx lat=\"1\" lon=\"1\"/></trkseg></gpx>";
+
+        List<double[]> points = scanAll(gpx);
+
+        assertThat(points).hasSize(2);
+        assertThat(points.get(0)).containsExactly(37.25, 127.5);
+        assertThat(points.get(1)).containsExactly(-15.0, 2.0);
+    }
+
+    @Test
+    void 구간_끝에서_잘린_요소는_시작_위치를_돌려준다() {
+        byte[] bytes = "<trkpt lat=\"1\" lon=\"2\"/><trkpt lat=\"3\" lo".getBytes(StandardCharsets.US_ASCII);
+        List<double[]> points = new ArrayList<>();
+
+        int consumed = TrkptScanner.scan(bytes, 0, bytes.length, (lat, lon) -> points.add(new double[]{lat, lon}));
+
+        assertThat(points).hasSize(1);
+        assertThat(consumed).isEqualTo("<trkpt lat=\"1\" lon=\"2\"/>".length());
+    }
+
+    @Test
+    void 주석과_CDATA는_건너뛰고_네임스페이스_접두어는_허용한다() {
+        String gpx = "<!-- <trkpt lat=\"9\" lon=\"9\"/> --><![CDATA[<trkpt lat=\"8\" lon=\"8\"/>]]>"
+                + "<gpx:trkpt lat=\"1\" lon=\"2\"/><x:nottrkpt lat=\"3\" lon=\"4\"/>";
+
+        List<double[]> points = scanAll(gpx);
+
+        assertThat(points).hasSize(1);
+        assertThat(points.get(0)).containsExactly(1.0, 2.0);
+    }
+
+    @Test
+    void 숫자가_아닌_값은_건너뛴다() {
+        assertThat(scanAll("<trkpt lat=\"abc\" lon=\"1\"/>")).isEmpty();
+        assertThat(TrkptScanner.parseDecimal("0.000123".getBytes(), 0, 8)).isEqualTo(0.000123);
+    }
+
+    private static List<double[]> scanAll(String gpx) {
+        byte[] bytes = gpx.getBytes(StandardCharsets.UTF_8);
+        List<double[]> points = new ArrayList<>();
+        TrkptScanner.scan(bytes, 0, bytes.length, (lat, lon) -> points.add(new double[]{lat, lon}));
+        return points;
+    }
+}